@@ -1,10 +1,165 @@
 package com.Sumanta.caremate.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 @EnableAsync
+@Slf4j
 public class AsyncConfig {
     // This enables @Async annotation for sending emails asynchronously
-}
\ No newline at end of file
+
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+    public static final String STORAGE_EXECUTOR = "storageExecutor";
+    public static final String PASSWORD_HASH_EXECUTOR = "passwordHashExecutor";
+    public static final String EVENT_EXECUTOR = "eventExecutor";
+
+    @Value("${app.mail.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.mail.executor.core-size:2}")
+    private int coreSize;
+
+    @Value("${app.mail.executor.max-size:4}")
+    private int maxSize;
+
+    @Value("${app.mail.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.mail.executor.shutdown-timeout-seconds:30}")
+    private int shutdownTimeoutSeconds;
+
+    /**
+     * Dedicated executor for outgoing mail. Platform-thread mode uses a bounded pool and queue;
+     * when both are full the submitting thread sends the mail itself, which slows callers down
+     * instead of dropping work. Virtual-thread mode caps concurrent sends at max-size and blocks
+     * submitters beyond that. Either way pending sends are drained on shutdown.
+     */
+    @Bean(name = MAIL_EXECUTOR)
+    public AsyncTaskExecutor mailExecutor(MeterRegistry meterRegistry) {
+        AtomicInteger queued = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        Counter rejected = Counter.builder("mail.executor.rejected")
+                .description("Mail tasks run on the caller because the executor was saturated")
+                .register(meterRegistry);
+
+        Gauge.builder("mail.executor.queued", queued, AtomicInteger::get)
+                .description("Mail tasks waiting for a sender thread")
+                .register(meterRegistry);
+        Gauge.builder("mail.executor.active", active, AtomicInteger::get)
+                .description("Mail tasks currently sending")
+                .register(meterRegistry);
+
+        TaskDecorator instrumented = task -> {
+            queued.incrementAndGet();
+            return () -> {
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            };
+        };
+
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mail-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxSize);
+            executor.setTaskDecorator(instrumented);
+            executor.setTaskTerminationTimeout(shutdownTimeoutSeconds * 1000L);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mail-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(instrumented);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            log.warn("Mail executor saturated, sending on caller thread");
+            new ThreadPoolExecutor.CallerRunsPolicy().rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(shutdownTimeoutSeconds);
+        executor.initialize();
+        return executor;
+    }
+
+    // Parallel file writes for uploads; callers wait for the result, so saturation simply runs the write inline
+    @Bean(name = STORAGE_EXECUTOR)
+    public AsyncTaskExecutor storageExecutor(@Value("${app.storage.executor.max-size:8}") int storageThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("storage-");
+        executor.setCorePoolSize(storageThreads);
+        executor.setMaxPoolSize(storageThreads);
+        executor.setQueueCapacity(storageThreads * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(shutdownTimeoutSeconds);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * BCrypt work is CPU-bound, so it gets at most one thread per core and a short queue. When the
+     * queue is full submissions are rejected (TaskRejectedException) and the caller answers 429,
+     * rather than letting a login storm occupy the servlet threads every other endpoint needs.
+     */
+    @Bean(name = PASSWORD_HASH_EXECUTOR)
+    public AsyncTaskExecutor passwordHashExecutor(
+            @Value("${app.security.hashing.threads:0}") int hashThreads,
+            @Value("${app.security.hashing.queue-capacity:64}") int hashQueueCapacity,
+            MeterRegistry meterRegistry) {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(hashQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(shutdownTimeoutSeconds);
+        executor.initialize();
+
+        Gauge.builder("auth.password.executor.queued", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    // After-commit booking event listeners; a full queue runs the listener on the committing thread
+    @Bean(name = EVENT_EXECUTOR)
+    public AsyncTaskExecutor eventExecutor(@Value("${app.events.executor.max-size:4}") int eventThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("event-");
+        executor.setCorePoolSize(eventThreads);
+        executor.setMaxPoolSize(eventThreads);
+        executor.setQueueCapacity(eventThreads * 50);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(shutdownTimeoutSeconds);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,23 @@
+package com.Sumanta.caremate.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class FlywayConfig {
+
+    // Databases created by Hibernate before migrations existed already match V1, so they are baselined there.
+    // The migration lock is a session lock: a transactional one would keep a transaction open that
+    // CREATE INDEX CONCURRENTLY waits on forever.
+    @Bean
+    public FlywayConfigurationCustomizer flywayBaselineCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .baselineDescription("Schema generated by Hibernate")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.Sumanta.caremate.config;
+
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    public static final String BOOKING_TRANSITION_RETRY = "bookingTransitionRetry";
+
+    /**
+     * Retries a booking transition whose conditional update lost a race (or hit an optimistic
+     * lock / deadlock). Each attempt re-reads the booking, so a retry either succeeds against the
+     * new state or fails with the normal validation message. Jittered backoff keeps colliding
+     * requests from retrying in lockstep.
+     */
+    @Bean(name = BOOKING_TRANSITION_RETRY)
+    public Retry bookingTransitionRetry(
+            @Value("${app.booking.transition.max-attempts:3}") int maxAttempts,
+            @Value("${app.booking.transition.initial-backoff:PT0.05S}") Duration initialBackoff) {
+        return Retry.of(BOOKING_TRANSITION_RETRY, RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(initialBackoff, 2.0))
+                .retryExceptions(ConcurrencyFailureException.class)
+                .build());
+    }
+}
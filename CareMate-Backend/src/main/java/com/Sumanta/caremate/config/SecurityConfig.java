@@ -3,6 +3,7 @@ package com.Sumanta.caremate.config;
 import com.Sumanta.caremate.security.CustomUserDetailsService;
 import com.Sumanta.caremate.security.JWTRequestFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,6 +29,9 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
     private final JWTRequestFilter jwtRequestFilter;
 
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -78,9 +82,10 @@ public class SecurityConfig {
         return authProvider;
     }
 
+    // Raising the strength takes effect for existing users on their next login (see PasswordHashingService)
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
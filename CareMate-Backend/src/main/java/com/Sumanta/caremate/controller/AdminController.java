@@ -13,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/admin")
 @RequiredArgsConstructor
@@ -23,14 +25,9 @@ public class AdminController {
 
     @PostMapping("/login")
     @Operation(summary = "Admin login", description = "Login endpoint for predefined admin users")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody AdminLoginRequest request) {
-        try {
-            AuthResponse response = adminService.login(request);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Login successful", response));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(new ApiResponse<>(false, e.getMessage(), null));
-        }
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(@Valid @RequestBody AdminLoginRequest request) {
+        return adminService.login(request)
+                .thenApply(response -> ResponseEntity.ok(new ApiResponse<>(true, "Login successful", response)));
     }
 
     @GetMapping("/health")
@@ -55,5 +52,4 @@ public class AdminController {
                     .body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.Sumanta.caremate.controller;
+
+import com.Sumanta.caremate.enums.ImageVariant;
+import com.Sumanta.caremate.exception.ImageNotFoundException;
+import com.Sumanta.caremate.service.ImageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/images")
+@RequiredArgsConstructor
+@Tag(name = "Images", description = "Resized profile images")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ImageController {
+
+    // Image paths never change content, so responses can be cached indefinitely, but only by the
+    // client: the route requires authentication, so shared caches must not store them
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+
+    private final ImageService imageService;
+
+    // Range requests on the returned Resource are answered with 206 partial content by Spring MVC
+    @GetMapping("/{variant}/{*path}")
+    @Operation(summary = "Get a resized nurse profile image")
+    public ResponseEntity<Resource> getImage(
+            @PathVariable String variant,
+            @PathVariable String path,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ImageVariant imageVariant;
+        try {
+            imageVariant = ImageVariant.valueOf(variant.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String imagePath = path.startsWith("/") ? path.substring(1) : path;
+        if (!imageService.isServable(imagePath)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = etag(imagePath, imageVariant);
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(IMMUTABLE).build();
+        }
+
+        try {
+            Path derivative = imageService.getDerivative(imagePath, imageVariant);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .eTag(etag)
+                    .cacheControl(IMMUTABLE)
+                    .body(new FileSystemResource(derivative));
+        } catch (ImageNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Strong ETag: the stored file name is a content hash or a never-reused UUID
+    private String etag(String imagePath, ImageVariant variant) {
+        String fileName = imagePath.substring(imagePath.lastIndexOf('/') + 1);
+        int dot = fileName.lastIndexOf('.');
+        return "\"" + variant.pathSegment() + "-" + (dot > 0 ? fileName.substring(0, dot) : fileName) + "\"";
+    }
+}
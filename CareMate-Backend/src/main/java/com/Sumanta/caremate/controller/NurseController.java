@@ -1,6 +1,11 @@
 package com.Sumanta.caremate.controller;
 
 import com.Sumanta.caremate.dto.*;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.enums.EarningsGranularity;
+import com.Sumanta.caremate.exception.TooManyRequestsException;
+import com.Sumanta.caremate.exception.UploadRejectedException;
+import com.Sumanta.caremate.security.AuthenticatedUser;
 import com.Sumanta.caremate.service.NurseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,11 +17,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/nurse")
@@ -35,6 +41,8 @@ public class NurseController {
         try {
             AuthResponse response = nurseService.register(request);
             return ResponseEntity.ok(new ApiResponse<>(true, response.getMessage(), response));
+        } catch (UploadRejectedException | TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
@@ -42,13 +50,9 @@ public class NurseController {
 
     @PostMapping("/login")
     @Operation(summary = "Nurse/Caretaker login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody NurseLoginRequest request) {
-        try {
-            AuthResponse response = nurseService.login(request);
-            return ResponseEntity.ok(new ApiResponse<>(true, response.getMessage(), response));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
-        }
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(@Valid @RequestBody NurseLoginRequest request) {
+        return nurseService.login(request)
+                .thenApply(response -> ResponseEntity.ok(new ApiResponse<>(true, response.getMessage(), response)));
     }
 
     // ==================== PROFILE MANAGEMENT ====================
@@ -56,10 +60,10 @@ public class NurseController {
     @GetMapping("/profile")
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get own profile")
-    public ResponseEntity<ApiResponse<NurseDTO>> getProfile(Authentication authentication) {
+    public ResponseEntity<ApiResponse<NurseDTO>> getProfile(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String email = authentication.getName();
-            NurseDTO nurse = nurseService.getProfileByEmail(email);
+            Long nurseId = user.getId();
+            NurseDTO nurse = nurseService.getProfile(nurseId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Profile retrieved successfully", nurse));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -70,11 +74,11 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Update profile")
     public ResponseEntity<ApiResponse<NurseDTO>> updateProfile(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody NurseUpdateRequest request) {
         try {
-            String email = authentication.getName();
-            NurseDTO nurse = nurseService.updateProfile(email, request);
+            Long nurseId = user.getId();
+            NurseDTO nurse = nurseService.updateProfile(nurseId, request);
             return ResponseEntity.ok(new ApiResponse<>(true, "Profile updated successfully", nurse));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -85,11 +89,11 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Update availability status")
     public ResponseEntity<ApiResponse<NurseDTO>> updateStatus(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody StatusUpdateRequest request) {
         try {
-            String email = authentication.getName();
-            NurseDTO nurse = nurseService.updateStatus(email, request.getStatus());
+            Long nurseId = user.getId();
+            NurseDTO nurse = nurseService.updateStatus(nurseId, request.getStatus());
             return ResponseEntity.ok(new ApiResponse<>(true, "Status updated successfully", nurse));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -100,13 +104,15 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Update profile image")
     public ResponseEntity<ApiResponse<NurseDTO>> updateProfileImage(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam("image") MultipartFile image,
             @RequestParam("imageNumber") int imageNumber) {
         try {
-            String email = authentication.getName();
-            NurseDTO nurse = nurseService.updateProfileImage(email, image, imageNumber);
+            Long nurseId = user.getId();
+            NurseDTO nurse = nurseService.updateProfileImage(nurseId, image, imageNumber);
             return ResponseEntity.ok(new ApiResponse<>(true, "Profile image updated successfully", nurse));
+        } catch (UploadRejectedException e) {
+            return ResponseEntity.status(e.getStatus()).body(new ApiResponse<>(false, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
@@ -118,11 +124,11 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Create availability schedule")
     public ResponseEntity<ApiResponse<AvailabilityScheduleDTO>> createSchedule(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody CreateScheduleRequest request) {
         try {
-            String email = authentication.getName();
-            AvailabilityScheduleDTO schedule = nurseService.createSchedule(email, request);
+            Long nurseId = user.getId();
+            AvailabilityScheduleDTO schedule = nurseService.createSchedule(nurseId, request);
             return ResponseEntity.ok(new ApiResponse<>(true, "Schedule created successfully", schedule));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -132,10 +138,10 @@ public class NurseController {
     @GetMapping("/availability/schedule")
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get availability schedules")
-    public ResponseEntity<ApiResponse<List<AvailabilityScheduleDTO>>> getSchedules(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<AvailabilityScheduleDTO>>> getSchedules(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String email = authentication.getName();
-            List<AvailabilityScheduleDTO> schedules = nurseService.getSchedules(email);
+            Long nurseId = user.getId();
+            List<AvailabilityScheduleDTO> schedules = nurseService.getSchedules(nurseId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Schedules retrieved successfully", schedules));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -146,11 +152,11 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Delete availability schedule")
     public ResponseEntity<ApiResponse<Void>> deleteSchedule(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id) {
         try {
-            String email = authentication.getName();
-            nurseService.deleteSchedule(email, id);
+            Long nurseId = user.getId();
+            nurseService.deleteSchedule(nurseId, id);
             return ResponseEntity.ok(new ApiResponse<>(true, "Schedule deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage()));
@@ -163,13 +169,30 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get all bookings")
     public ResponseEntity<ApiResponse<PageResponse<BookingDTO>>> getAllBookings(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            String email = authentication.getName();
+            Long nurseId = user.getId();
             Pageable pageable = PageRequest.of(page, size);
-            PageResponse<BookingDTO> bookings = nurseService.getAllBookings(email, pageable);
+            PageResponse<BookingDTO> bookings = nurseService.getAllBookings(nurseId, pageable);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Bookings retrieved successfully", bookings));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/bookings/feed")
+    @PreAuthorize("hasRole('NURSE')")
+    @Operation(summary = "Get bookings by cursor (keyset pagination, no total count)")
+    public ResponseEntity<ApiResponse<CursorPageResponse<BookingDTO>>> getBookingsByCursor(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Long nurseId = user.getId();
+            CursorPageResponse<BookingDTO> bookings = nurseService.getBookingsByCursor(nurseId, status, cursor, size);
             return ResponseEntity.ok(new ApiResponse<>(true, "Bookings retrieved successfully", bookings));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -180,11 +203,11 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get booking details")
     public ResponseEntity<ApiResponse<BookingDTO>> getBookingById(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id) {
         try {
-            String email = authentication.getName();
-            BookingDTO booking = nurseService.getBookingById(email, id);
+            Long nurseId = user.getId();
+            BookingDTO booking = nurseService.getBookingById(nurseId, id);
             return ResponseEntity.ok(new ApiResponse<>(true, "Booking retrieved successfully", booking));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -195,13 +218,13 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get active bookings")
     public ResponseEntity<ApiResponse<PageResponse<BookingDTO>>> getActiveBookings(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            String email = authentication.getName();
+            Long nurseId = user.getId();
             Pageable pageable = PageRequest.of(page, size);
-            PageResponse<BookingDTO> bookings = nurseService.getActiveBookings(email, pageable);
+            PageResponse<BookingDTO> bookings = nurseService.getActiveBookings(nurseId, pageable);
             return ResponseEntity.ok(new ApiResponse<>(true, "Active bookings retrieved successfully", bookings));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -212,13 +235,13 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get booking history")
     public ResponseEntity<ApiResponse<PageResponse<BookingDTO>>> getBookingHistory(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            String email = authentication.getName();
+            Long nurseId = user.getId();
             Pageable pageable = PageRequest.of(page, size);
-            PageResponse<BookingDTO> bookings = nurseService.getBookingHistory(email, pageable);
+            PageResponse<BookingDTO> bookings = nurseService.getBookingHistory(nurseId, pageable);
             return ResponseEntity.ok(new ApiResponse<>(true, "Booking history retrieved successfully", bookings));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -229,13 +252,13 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Accept booking")
     public ResponseEntity<ApiResponse<BookingDTO>> acceptBooking(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id,
             @Valid @RequestBody(required = false) BookingActionRequest request) {
         try {
-            String email = authentication.getName();
+            Long nurseId = user.getId();
             BookingActionRequest req = request != null ? request : new BookingActionRequest();
-            BookingDTO booking = nurseService.acceptBooking(email, id, req);
+            BookingDTO booking = nurseService.acceptBooking(nurseId, id, req);
             return ResponseEntity.ok(new ApiResponse<>(true, "Booking accepted successfully", booking));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -246,27 +269,42 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Reject booking")
     public ResponseEntity<ApiResponse<BookingDTO>> rejectBooking(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id,
             @Valid @RequestBody BookingActionRequest request) {
         try {
-            String email = authentication.getName();
-            BookingDTO booking = nurseService.rejectBooking(email, id, request);
+            Long nurseId = user.getId();
+            BookingDTO booking = nurseService.rejectBooking(nurseId, id, request);
             return ResponseEntity.ok(new ApiResponse<>(true, "Booking rejected successfully", booking));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
 
+    @PatchMapping("/bookings/{id}/start")
+    @PreAuthorize("hasRole('NURSE')")
+    @Operation(summary = "Start booking")
+    public ResponseEntity<ApiResponse<BookingDTO>> startBooking(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id) {
+        try {
+            Long nurseId = user.getId();
+            BookingDTO booking = nurseService.startBooking(nurseId, id);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Booking started successfully", booking));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @PatchMapping("/bookings/{id}/complete")
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Complete booking")
     public ResponseEntity<ApiResponse<BookingDTO>> completeBooking(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id) {
         try {
-            String email = authentication.getName();
-            BookingDTO booking = nurseService.completeBooking(email, id);
+            Long nurseId = user.getId();
+            BookingDTO booking = nurseService.completeBooking(nurseId, id);
             return ResponseEntity.ok(new ApiResponse<>(true, "Booking completed successfully", booking));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -277,12 +315,12 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Submit care report")
     public ResponseEntity<ApiResponse<BookingDTO>> submitCareReport(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id,
             @Valid @RequestBody CareReportRequest request) {
         try {
-            String email = authentication.getName();
-            BookingDTO booking = nurseService.submitCareReport(email, id, request);
+            Long nurseId = user.getId();
+            BookingDTO booking = nurseService.submitCareReport(nurseId, id, request);
             return ResponseEntity.ok(new ApiResponse<>(true, "Care report submitted successfully", booking));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -295,13 +333,29 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get all reviews")
     public ResponseEntity<ApiResponse<PageResponse<ReviewDTO>>> getReviews(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            String email = authentication.getName();
+            Long nurseId = user.getId();
             Pageable pageable = PageRequest.of(page, size);
-            PageResponse<ReviewDTO> reviews = nurseService.getReviews(email, pageable);
+            PageResponse<ReviewDTO> reviews = nurseService.getReviews(nurseId, pageable);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Reviews retrieved successfully", reviews));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/reviews/feed")
+    @PreAuthorize("hasRole('NURSE')")
+    @Operation(summary = "Get reviews by cursor (keyset pagination, no total count)")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ReviewDTO>>> getReviewsByCursor(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Long nurseId = user.getId();
+            CursorPageResponse<ReviewDTO> reviews = nurseService.getReviewsByCursor(nurseId, cursor, size);
             return ResponseEntity.ok(new ApiResponse<>(true, "Reviews retrieved successfully", reviews));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -311,10 +365,10 @@ public class NurseController {
     @GetMapping("/reviews/stats")
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get rating statistics")
-    public ResponseEntity<ApiResponse<ReviewStatsDTO>> getReviewStats(Authentication authentication) {
+    public ResponseEntity<ApiResponse<ReviewStatsDTO>> getReviewStats(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String email = authentication.getName();
-            ReviewStatsDTO stats = nurseService.getReviewStats(email);
+            Long nurseId = user.getId();
+            ReviewStatsDTO stats = nurseService.getReviewStats(nurseId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Review statistics retrieved successfully", stats));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -325,12 +379,12 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Reply to review")
     public ResponseEntity<ApiResponse<ReviewDTO>> replyToReview(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id,
             @Valid @RequestBody ReviewReplyRequest request) {
         try {
-            String email = authentication.getName();
-            ReviewDTO review = nurseService.replyToReview(email, id, request);
+            Long nurseId = user.getId();
+            ReviewDTO review = nurseService.replyToReview(nurseId, id, request);
             return ResponseEntity.ok(new ApiResponse<>(true, "Reply submitted successfully", review));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -342,10 +396,10 @@ public class NurseController {
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get dashboard data")
-    public ResponseEntity<ApiResponse<NurseDashboardDTO>> getDashboard(Authentication authentication) {
+    public ResponseEntity<ApiResponse<NurseDashboardDTO>> getDashboard(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String email = authentication.getName();
-            NurseDashboardDTO dashboard = nurseService.getDashboard(email);
+            Long nurseId = user.getId();
+            NurseDashboardDTO dashboard = nurseService.getDashboard(nurseId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Dashboard data retrieved successfully", dashboard));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -355,10 +409,10 @@ public class NurseController {
     @GetMapping("/stats/bookings")
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get booking statistics")
-    public ResponseEntity<ApiResponse<BookingStatsDTO>> getBookingStats(Authentication authentication) {
+    public ResponseEntity<ApiResponse<BookingStatsDTO>> getBookingStats(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String email = authentication.getName();
-            BookingStatsDTO stats = nurseService.getBookingStats(email);
+            Long nurseId = user.getId();
+            BookingStatsDTO stats = nurseService.getBookingStats(nurseId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Booking statistics retrieved successfully", stats));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -370,10 +424,10 @@ public class NurseController {
     @GetMapping("/earnings")
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get total earnings")
-    public ResponseEntity<ApiResponse<EarningsDTO>> getTotalEarnings(Authentication authentication) {
+    public ResponseEntity<ApiResponse<EarningsDTO>> getTotalEarnings(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String email = authentication.getName();
-            EarningsDTO earnings = nurseService.getTotalEarnings(email);
+            Long nurseId = user.getId();
+            EarningsDTO earnings = nurseService.getTotalEarnings(nurseId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Earnings retrieved successfully", earnings));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -383,23 +437,39 @@ public class NurseController {
     @GetMapping("/earnings/monthly")
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get monthly earnings")
-    public ResponseEntity<ApiResponse<List<MonthlyEarningsDTO>>> getMonthlyEarnings(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<MonthlyEarningsDTO>>> getMonthlyEarnings(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String email = authentication.getName();
-            List<MonthlyEarningsDTO> earnings = nurseService.getMonthlyEarnings(email);
+            Long nurseId = user.getId();
+            List<MonthlyEarningsDTO> earnings = nurseService.getMonthlyEarnings(nurseId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Monthly earnings retrieved successfully", earnings));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
 
+    @GetMapping("/earnings/series")
+    @PreAuthorize("hasRole('NURSE')")
+    @Operation(summary = "Get earnings time series by day, week or month")
+    public ResponseEntity<ApiResponse<List<EarningsBucketDTO>>> getEarningsSeries(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "MONTH") EarningsGranularity granularity,
+            @RequestParam(defaultValue = "12") int buckets) {
+        try {
+            Long nurseId = user.getId();
+            List<EarningsBucketDTO> series = nurseService.getEarningsSeries(nurseId, granularity, buckets);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Earnings series retrieved successfully", series));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/earnings/breakdown")
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get earnings breakdown")
-    public ResponseEntity<ApiResponse<EarningsBreakdownDTO>> getEarningsBreakdown(Authentication authentication) {
+    public ResponseEntity<ApiResponse<EarningsBreakdownDTO>> getEarningsBreakdown(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            String email = authentication.getName();
-            EarningsBreakdownDTO breakdown = nurseService.getEarningsBreakdown(email);
+            Long nurseId = user.getId();
+            EarningsBreakdownDTO breakdown = nurseService.getEarningsBreakdown(nurseId);
             return ResponseEntity.ok(new ApiResponse<>(true, "Earnings breakdown retrieved successfully", breakdown));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -412,13 +482,30 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Get notifications")
     public ResponseEntity<ApiResponse<PageResponse<NotificationDTO>>> getNotifications(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         try {
-            String email = authentication.getName();
+            Long nurseId = user.getId();
             Pageable pageable = PageRequest.of(page, size);
-            PageResponse<NotificationDTO> notifications = nurseService.getNotifications(email, pageable);
+            PageResponse<NotificationDTO> notifications = nurseService.getNotifications(nurseId, pageable);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Notifications retrieved successfully", notifications));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/notifications/feed")
+    @PreAuthorize("hasRole('NURSE')")
+    @Operation(summary = "Get notifications by cursor (keyset pagination, no total count)")
+    public ResponseEntity<ApiResponse<CursorPageResponse<NotificationDTO>>> getNotificationsByCursor(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Long nurseId = user.getId();
+            CursorPageResponse<NotificationDTO> notifications = nurseService.getNotificationsByCursor(nurseId, unreadOnly, cursor, size);
             return ResponseEntity.ok(new ApiResponse<>(true, "Notifications retrieved successfully", notifications));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -429,14 +516,14 @@ public class NurseController {
     @PreAuthorize("hasRole('NURSE')")
     @Operation(summary = "Mark notification as read")
     public ResponseEntity<ApiResponse<Void>> markNotificationAsRead(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id) {
         try {
-            String email = authentication.getName();
-            nurseService.markNotificationAsRead(email, id);
+            Long nurseId = user.getId();
+            nurseService.markNotificationAsRead(nurseId, id);
             return ResponseEntity.ok(new ApiResponse<>(true, "Notification marked as read"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage()));
         }
     }
-}
\ No newline at end of file
+}
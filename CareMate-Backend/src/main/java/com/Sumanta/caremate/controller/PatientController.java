@@ -1,6 +1,9 @@
 package com.Sumanta.caremate.controller;
 
 import com.Sumanta.caremate.dto.*;
+import com.Sumanta.caremate.exception.TooManyRequestsException;
+import com.Sumanta.caremate.exception.UploadRejectedException;
+import com.Sumanta.caremate.security.AuthenticatedUser;
 import com.Sumanta.caremate.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -8,12 +11,16 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/patient")
 @RequiredArgsConstructor
-@Tag(name = "Patient", description = "Patient registration and authentication")
+@Tag(name = "Patient", description = "Patient registration, authentication and bookings")
 public class PatientController {
 
     private final PatientService patientService;
@@ -26,6 +33,8 @@ public class PatientController {
         try {
             AuthResponse response = patientService.register(request);
             return ResponseEntity.ok(new ApiResponse<>(true, response.getMessage(), response));
+        } catch (UploadRejectedException | TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, e.getMessage(), null));
@@ -35,13 +44,24 @@ public class PatientController {
     @PostMapping("/login")
     @Operation(summary = "Patient login",
             description = "Login with name, mobile number and email")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody PatientLoginRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(@Valid @RequestBody PatientLoginRequest request) {
+        return patientService.login(request)
+                .thenApply(response -> ResponseEntity.ok(new ApiResponse<>(true, response.getMessage(), response)));
+    }
+
+    @PatchMapping("/bookings/{id}/cancel")
+    @PreAuthorize("hasRole('PATIENT')")
+    @Operation(summary = "Cancel booking",
+            description = "Cancel a pending or accepted booking")
+    public ResponseEntity<ApiResponse<Void>> cancelBooking(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id,
+            @Valid @RequestBody(required = false) BookingActionRequest request) {
         try {
-            AuthResponse response = patientService.login(request);
-            return ResponseEntity.ok(new ApiResponse<>(true, response.getMessage(), response));
+            patientService.cancelBooking(user.getId(), id, request);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Booking cancelled successfully", null));
         } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(new ApiResponse<>(false, e.getMessage(), null));
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.Sumanta.caremate.dto;
+
+import com.Sumanta.caremate.enums.EarningsGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EarningsBucketDTO {
+    private EarningsGranularity granularity;
+    private LocalDate periodStart;
+    private LocalDate periodEnd; // exclusive
+    private String label;
+    private BigDecimal earnings;
+    private Integer bookingsCompleted;
+}
@@ -13,7 +13,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_nurse_created", columnList = "nurse_id, created_at, id"),
+        @Index(name = "idx_bookings_nurse_status_created", columnList = "nurse_id, status, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,6 +34,8 @@ public class BookingEntity {
     @JoinColumn(name = "nurse_id", nullable = false)
     private NurseEntity nurse;
 
+    // Inclusive on both ends. The database derives a generated daterange "period" column from
+    // these two (not mapped here) and excludes overlapping ACCEPTED/IN_PROGRESS bookings per nurse.
     @Column(nullable = false)
     private LocalDate startDate;
 
@@ -73,4 +78,8 @@ public class BookingEntity {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
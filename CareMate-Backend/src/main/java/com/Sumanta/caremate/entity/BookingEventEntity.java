@@ -0,0 +1,54 @@
+package com.Sumanta.caremate.entity;
+
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.enums.UserRole;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Append-only history of booking status transitions, written by BookingStateMachine
+@Entity
+@Immutable
+@Table(name = "booking_events", indexes = {
+        @Index(name = "idx_booking_events_booking_created", columnList = "booking_id, created_at, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "nurse_id", nullable = false)
+    private Long nurseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BookingStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BookingStatus toStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UserRole actorRole;
+
+    @Column(nullable = false)
+    private Long actorId;
+
+    @Column(length = 1000)
+    private String note;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -11,7 +11,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, user_role, created_at, id"),
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, user_role, is_read, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -7,6 +7,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -53,6 +54,7 @@ public class NurseEntity {
     private Integer age;
 
     @ElementCollection(targetClass = PatientCategory.class, fetch = FetchType.EAGER)
+    @BatchSize(size = 50) // nurses hydrated by a page load share one specialization select
     @CollectionTable(name = "nurse_specializations", joinColumns = @JoinColumn(name = "nurse_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "category")
@@ -75,4 +77,8 @@ public class NurseEntity {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.Sumanta.caremate.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Read model: completed-booking earnings per nurse per calendar month
+@Entity
+@Table(name = "nurse_monthly_earnings",
+        uniqueConstraints = @UniqueConstraint(name = "uk_nurse_monthly_earnings_period",
+                columnNames = {"nurse_id", "earnings_year", "earnings_month"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NurseMonthlyEarningsEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "nurse_id", nullable = false)
+    private Long nurseId;
+
+    @Column(name = "earnings_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "earnings_month", nullable = false)
+    private Integer month; // 1-12
+
+    @Column(nullable = false)
+    private BigDecimal earnings = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private Long completedCount = 0L;
+
+    public NurseMonthlyEarningsEntity(Long nurseId, Integer year, Integer month) {
+        this.nurseId = nurseId;
+        this.year = year;
+        this.month = month;
+    }
+}
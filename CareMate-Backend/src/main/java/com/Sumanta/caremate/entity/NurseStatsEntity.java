@@ -0,0 +1,116 @@
+package com.Sumanta.caremate.entity;
+
+import com.Sumanta.caremate.enums.BookingStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read model: one row per nurse, maintained incrementally by booking and review transitions
+@Entity
+@Table(name = "nurse_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NurseStatsEntity {
+
+    @Id
+    @Column(name = "nurse_id")
+    private Long nurseId;
+
+    @Column(nullable = false)
+    private Long pendingCount = 0L;
+
+    @Column(nullable = false)
+    private Long acceptedCount = 0L;
+
+    @Column(nullable = false)
+    private Long rejectedCount = 0L;
+
+    @Column(nullable = false)
+    private Long inProgressCount = 0L;
+
+    @Column(nullable = false)
+    private Long completedCount = 0L;
+
+    @Column(nullable = false)
+    private Long cancelledCount = 0L;
+
+    @Column(nullable = false)
+    private BigDecimal totalEarnings = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private Long reviewCount = 0L;
+
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    private Long oneStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long twoStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long threeStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long fourStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long fiveStarCount = 0L;
+
+    private LocalDateTime lastReconciledAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public NurseStatsEntity(Long nurseId) {
+        this.nurseId = nurseId;
+    }
+
+    public long getTotalBookings() {
+        return pendingCount + acceptedCount + rejectedCount + inProgressCount + completedCount + cancelledCount;
+    }
+
+    public long getCount(BookingStatus status) {
+        return switch (status) {
+            case PENDING -> pendingCount;
+            case ACCEPTED -> acceptedCount;
+            case REJECTED -> rejectedCount;
+            case IN_PROGRESS -> inProgressCount;
+            case COMPLETED -> completedCount;
+            case CANCELLED -> cancelledCount;
+        };
+    }
+
+    public long getRatingCount(int rating) {
+        return switch (rating) {
+            case 1 -> oneStarCount;
+            case 2 -> twoStarCount;
+            case 3 -> threeStarCount;
+            case 4 -> fourStarCount;
+            case 5 -> fiveStarCount;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        };
+    }
+
+    public void setRatingCount(int rating, long count) {
+        switch (rating) {
+            case 1 -> oneStarCount = count;
+            case 2 -> twoStarCount = count;
+            case 3 -> threeStarCount = count;
+            case 4 -> fourStarCount = count;
+            case 5 -> fiveStarCount = count;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+    }
+
+    public double getAverageRating() {
+        return reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+    }
+}
@@ -10,7 +10,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_nurse_created", columnList = "nurse_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,41 @@
+package com.Sumanta.caremate.entity;
+
+import com.Sumanta.caremate.enums.UserRole;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// Identity index over admins, nurses and patients: one row per login email
+@Entity
+@Table(name = "user_accounts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_accounts_role_user", columnNames = {"role", "user_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAccountEntity {
+
+    // Always lower-cased
+    @Id
+    @Column(length = 255)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UserRole role;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String password;
+
+    @Column(nullable = false)
+    private Boolean isActive = true;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,37 @@
+package com.Sumanta.caremate.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum EarningsGranularity {
+    DAY("day"),
+    WEEK("week"),     // ISO weeks starting on Monday, matching Postgres date_trunc
+    MONTH("month");
+
+    private final String truncUnit;
+
+    EarningsGranularity(String truncUnit) {
+        this.truncUnit = truncUnit;
+    }
+
+    public String getTruncUnit() {
+        return truncUnit;
+    }
+
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate plus(LocalDate bucketStart, long amount) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(amount);
+            case WEEK -> bucketStart.plusWeeks(amount);
+            case MONTH -> bucketStart.plusMonths(amount);
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.Sumanta.caremate.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,    // Waiting for its next attempt
+    SENDING,    // Claimed by a dispatcher; becomes claimable again once the lease expires
+    SENT,
+    FAILED      // Gave up after the maximum number of attempts
+}
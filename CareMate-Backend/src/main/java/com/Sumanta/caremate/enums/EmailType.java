@@ -0,0 +1,27 @@
+package com.Sumanta.caremate.enums;
+
+// Each type names its template under templates/email and a subject that may use the same {{placeholders}}
+public enum EmailType {
+    NURSE_REGISTRATION("nurse-registration", "Welcome to CareMate - Nurse Registration Successful! 🏥"),
+    PATIENT_REGISTRATION("patient-registration", "Welcome to CareMate - Patient Registration Successful! 💙"),
+    FAMILY_NOTIFICATION("family-notification", "CareMate - Your Family Member Has Registered"),
+    BOOKING_ACCEPTED("booking-accepted", "CareMate - {{nurseName}} accepted your booking"),
+    BOOKING_REJECTED("booking-rejected", "CareMate - Update on your booking request"),
+    BOOKING_COMPLETED("booking-completed", "CareMate - Your care session is complete");
+
+    private final String template;
+    private final String subject;
+
+    EmailType(String template, String subject) {
+        this.template = template;
+        this.subject = subject;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+}
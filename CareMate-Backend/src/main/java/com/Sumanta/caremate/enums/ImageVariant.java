@@ -0,0 +1,21 @@
+package com.Sumanta.caremate.enums;
+
+// Resized derivatives of uploaded images; the size bounds the longer edge in pixels
+public enum ImageVariant {
+    THUMBNAIL(160),
+    MEDIUM(640);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String pathSegment() {
+        return name().toLowerCase();
+    }
+}
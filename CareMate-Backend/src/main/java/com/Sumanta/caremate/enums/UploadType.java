@@ -0,0 +1,45 @@
+package com.Sumanta.caremate.enums;
+
+import java.nio.charset.StandardCharsets;
+
+// File types accepted for upload, identified by their leading magic bytes rather than the client's file name
+public enum UploadType {
+    JPEG(".jpg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG(".png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    PDF(".pdf", "%PDF-".getBytes(StandardCharsets.US_ASCII));
+
+    public static final int MAX_SIGNATURE_LENGTH = 8;
+
+    private final String extension;
+    private final byte[] signature;
+
+    UploadType(String extension, byte[] signature) {
+        this.extension = extension;
+        this.signature = signature;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static UploadType detect(byte[] header, int length) {
+        for (UploadType type : values()) {
+            if (type.matches(header, length)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(byte[] header, int length) {
+        if (length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (header[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
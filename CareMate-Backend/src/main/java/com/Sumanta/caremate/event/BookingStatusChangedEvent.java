@@ -0,0 +1,22 @@
+package com.Sumanta.caremate.event;
+
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.enums.UserRole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Published by BookingStateMachine inside the transition's transaction, after the booking row and its event log entry are written
+public record BookingStatusChangedEvent(
+        Long bookingId,
+        Long nurseId,
+        Long patientId,
+        BookingStatus from,
+        BookingStatus to,
+        UserRole actorRole,
+        Long actorId,
+        String note,
+        BigDecimal totalAmount,
+        LocalDateTime completedAt,
+        LocalDateTime occurredAt) {
+}
@@ -0,0 +1,9 @@
+package com.Sumanta.caremate.exception;
+
+// The stored image behind a servable path is missing from the blob store
+public class ImageNotFoundException extends RuntimeException {
+
+    public ImageNotFoundException(String imagePath, Throwable cause) {
+        super("Image not found: " + imagePath, cause);
+    }
+}
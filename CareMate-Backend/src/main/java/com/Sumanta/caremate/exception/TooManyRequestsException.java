@@ -0,0 +1,15 @@
+package com.Sumanta.caremate.exception;
+
+import lombok.Getter;
+
+// Request refused because a bounded resource is saturated; answered with 429 and a Retry-After hint
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
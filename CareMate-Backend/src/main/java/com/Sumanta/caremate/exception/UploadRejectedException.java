@@ -0,0 +1,16 @@
+package com.Sumanta.caremate.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+// Upload refused for its size or content type, carrying the HTTP status to answer with
+@Getter
+public class UploadRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public UploadRejectedException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
@@ -0,0 +1,9 @@
+package com.Sumanta.caremate.repository;
+
+import com.Sumanta.caremate.entity.BookingEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookingEventRepository extends JpaRepository<BookingEventEntity, Long> {
+}
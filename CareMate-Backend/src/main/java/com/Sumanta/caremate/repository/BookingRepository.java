@@ -4,9 +4,16 @@ import com.Sumanta.caremate.entity.BookingEntity;
 import com.Sumanta.caremate.entity.NurseEntity;
 import com.Sumanta.caremate.entity.PatientEntity;
 import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.repository.projection.BookingListView;
+import com.Sumanta.caremate.repository.projection.EarningsBucketAggregate;
+import com.Sumanta.caremate.repository.projection.MonthlyEarningsAggregate;
+import com.Sumanta.caremate.repository.projection.NurseBookingAggregate;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,17 +27,64 @@ import java.util.Optional;
 @Repository
 public interface BookingRepository extends JpaRepository<BookingEntity, Long> {
 
-    // Nurse related queries
-    Page<BookingEntity> findByNurse(NurseEntity nurse, Pageable pageable);
-    Page<BookingEntity> findByNurseAndStatus(NurseEntity nurse, BookingStatus status, Pageable pageable);
+    String BOOKING_LIST_VIEW = """
+            SELECT new com.Sumanta.caremate.repository.projection.BookingListView(
+                b.id, p.id, p.fullName, p.email, p.mobileNo, n.id, n.fullName, n.email, n.mobileNo,
+                b.startDate, b.endDate, b.totalAmount, b.baseCharge, b.subscriptionCharge, b.status,
+                b.acceptedAt, b.rejectedAt, b.completedAt, b.createdAt)
+            FROM BookingEntity b JOIN b.patient p JOIN b.nurse n
+            """;
+
+    // Nurse related queries - patient and nurse are fetch-joined, counted separately without the joins
+    @EntityGraph(attributePaths = {"patient", "nurse"})
+    @Query(value = "SELECT b FROM BookingEntity b WHERE b.nurse = :nurse",
+            countQuery = "SELECT COUNT(b) FROM BookingEntity b WHERE b.nurse = :nurse")
+    Page<BookingEntity> findByNurse(@Param("nurse") NurseEntity nurse, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"patient", "nurse"})
+    @Query(value = "SELECT b FROM BookingEntity b WHERE b.nurse = :nurse AND b.status = :status",
+            countQuery = "SELECT COUNT(b) FROM BookingEntity b WHERE b.nurse = :nurse AND b.status = :status")
+    Page<BookingEntity> findByNurseAndStatus(@Param("nurse") NurseEntity nurse, @Param("status") BookingStatus status, Pageable pageable);
+
+    // List views - only the columns the booking list needs, no managed entities
+    @Query(value = BOOKING_LIST_VIEW + "WHERE b.nurse = :nurse ORDER BY b.createdAt DESC, b.id DESC",
+            countQuery = "SELECT COUNT(b) FROM BookingEntity b WHERE b.nurse = :nurse")
+    Page<BookingListView> findListViewsByNurse(@Param("nurse") NurseEntity nurse, Pageable pageable);
+
+    @Query(value = BOOKING_LIST_VIEW + "WHERE b.nurse = :nurse AND b.status = :status ORDER BY b.createdAt DESC, b.id DESC",
+            countQuery = "SELECT COUNT(b) FROM BookingEntity b WHERE b.nurse = :nurse AND b.status = :status")
+    Page<BookingListView> findListViewsByNurseAndStatus(@Param("nurse") NurseEntity nurse, @Param("status") BookingStatus status, Pageable pageable);
+
+    // Keyset pages - seek past (createdAt, id) instead of OFFSET, and no count query
+    @Query(BOOKING_LIST_VIEW + "WHERE b.nurse = :nurse AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingListView> findListViewsByNurseBefore(@Param("nurse") NurseEntity nurse,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Limit limit);
+
+    @Query(BOOKING_LIST_VIEW + "WHERE b.nurse = :nurse AND b.status = :status AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingListView> findListViewsByNurseAndStatusBefore(@Param("nurse") NurseEntity nurse,
+                                                              @Param("status") BookingStatus status,
+                                                              @Param("createdAt") LocalDateTime createdAt,
+                                                              @Param("id") Long id,
+                                                              Limit limit);
+
     List<BookingEntity> findByNurseAndStatusIn(NurseEntity nurse, List<BookingStatus> statuses);
     Optional<BookingEntity> findByIdAndNurse(Long id, NurseEntity nurse);
     Long countByNurse(NurseEntity nurse);
     Long countByNurseAndStatus(NurseEntity nurse, BookingStatus status);
 
     // Patient related queries
-    Page<BookingEntity> findByPatient(PatientEntity patient, Pageable pageable);
-    Page<BookingEntity> findByPatientAndStatus(PatientEntity patient, BookingStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = {"patient", "nurse"})
+    @Query(value = "SELECT b FROM BookingEntity b WHERE b.patient = :patient",
+            countQuery = "SELECT COUNT(b) FROM BookingEntity b WHERE b.patient = :patient")
+    Page<BookingEntity> findByPatient(@Param("patient") PatientEntity patient, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"patient", "nurse"})
+    @Query(value = "SELECT b FROM BookingEntity b WHERE b.patient = :patient AND b.status = :status",
+            countQuery = "SELECT COUNT(b) FROM BookingEntity b WHERE b.patient = :patient AND b.status = :status")
+    Page<BookingEntity> findByPatientAndStatus(@Param("patient") PatientEntity patient, @Param("status") BookingStatus status, Pageable pageable);
+
     Optional<BookingEntity> findByIdAndPatient(Long id, PatientEntity patient);
 
     // Earnings calculations
@@ -47,7 +101,104 @@ public interface BookingRepository extends JpaRepository<BookingEntity, Long> {
 
     Long countByNurseAndStatusAndCompletedAtBetween(NurseEntity nurse, BookingStatus status, LocalDateTime start, LocalDateTime end);
 
-    // Check for overlapping bookings
-    @Query("SELECT COUNT(b) > 0 FROM BookingEntity b WHERE b.nurse = :nurse AND b.status IN ('ACCEPTED', 'IN_PROGRESS') AND ((b.startDate <= :endDate AND b.endDate >= :startDate))")
-    boolean hasOverlappingBookings(@Param("nurse") NurseEntity nurse, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    // Dashboard aggregation - every status counter and earnings figure in one pass over the nurse's bookings
+    @Query("""
+            SELECT COUNT(b) AS totalBookings,
+                   COALESCE(SUM(CASE WHEN b.status = 'PENDING' THEN 1 ELSE 0 END), 0) AS pendingBookings,
+                   COALESCE(SUM(CASE WHEN b.status = 'ACCEPTED' THEN 1 ELSE 0 END), 0) AS acceptedBookings,
+                   COALESCE(SUM(CASE WHEN b.status = 'REJECTED' THEN 1 ELSE 0 END), 0) AS rejectedBookings,
+                   COALESCE(SUM(CASE WHEN b.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), 0) AS inProgressBookings,
+                   COALESCE(SUM(CASE WHEN b.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS completedBookings,
+                   COALESCE(SUM(CASE WHEN b.status = 'CANCELLED' THEN 1 ELSE 0 END), 0) AS cancelledBookings,
+                   COALESCE(SUM(CASE WHEN b.status = 'COMPLETED' THEN b.totalAmount ELSE 0 END), 0) AS totalEarnings,
+                   COALESCE(SUM(CASE WHEN b.status = 'COMPLETED' AND b.completedAt >= :since THEN b.totalAmount ELSE 0 END), 0) AS earningsSince
+            FROM BookingEntity b
+            WHERE b.nurse = :nurse
+            """)
+    NurseBookingAggregate aggregateByNurse(@Param("nurse") NurseEntity nurse, @Param("since") LocalDateTime since);
+
+    @Query("""
+            SELECT YEAR(b.completedAt) AS year,
+                   MONTH(b.completedAt) AS month,
+                   SUM(b.totalAmount) AS earnings,
+                   COUNT(b) AS completedBookings
+            FROM BookingEntity b
+            WHERE b.nurse = :nurse AND b.status = 'COMPLETED' AND b.completedAt IS NOT NULL
+            GROUP BY YEAR(b.completedAt), MONTH(b.completedAt)
+            """)
+    List<MonthlyEarningsAggregate> aggregateMonthlyEarnings(@Param("nurse") NurseEntity nurse);
+
+    // Time-series earnings: one row per non-empty day/week/month bucket in [from, to)
+    @Query(value = """
+            SELECT date_trunc(:unit, b.completed_at) AS "periodStart",
+                   SUM(b.total_amount) AS "earnings",
+                   COUNT(*) AS "completedBookings"
+            FROM bookings b
+            WHERE b.nurse_id = :nurseId
+              AND b.status = 'COMPLETED'
+              AND b.completed_at >= :from
+              AND b.completed_at < :to
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<EarningsBucketAggregate> aggregateEarningsByPeriod(@Param("nurseId") Long nurseId,
+                                                            @Param("unit") String unit,
+                                                            @Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
+
+    // Conditional transitions - each only applies while the booking is still in the expected status
+    // and returns the affected row count, so a lost race shows up as 0 instead of a lost update.
+    // Bulk updates bypass @UpdateTimestamp, so each one sets updatedAt itself.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE BookingEntity b
+            SET b.status = 'ACCEPTED', b.acceptedAt = :acceptedAt, b.updatedAt = :acceptedAt,
+                b.nurseNotes = COALESCE(:notes, b.nurseNotes), b.version = b.version + 1
+            WHERE b.id = :id AND b.nurse.id = :nurseId AND b.status = 'PENDING'
+            """)
+    int markAccepted(@Param("id") Long id, @Param("nurseId") Long nurseId,
+                     @Param("acceptedAt") LocalDateTime acceptedAt, @Param("notes") String notes);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE BookingEntity b
+            SET b.status = 'REJECTED', b.rejectedAt = :rejectedAt, b.updatedAt = :rejectedAt,
+                b.rejectionReason = :reason, b.version = b.version + 1
+            WHERE b.id = :id AND b.nurse.id = :nurseId AND b.status = 'PENDING'
+            """)
+    int markRejected(@Param("id") Long id, @Param("nurseId") Long nurseId,
+                     @Param("rejectedAt") LocalDateTime rejectedAt, @Param("reason") String reason);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE BookingEntity b
+            SET b.status = 'COMPLETED', b.completedAt = :completedAt, b.updatedAt = :completedAt,
+                b.version = b.version + 1
+            WHERE b.id = :id AND b.nurse.id = :nurseId AND b.status = :expected
+            """)
+    int markCompleted(@Param("id") Long id, @Param("nurseId") Long nurseId,
+                      @Param("expected") BookingStatus expected, @Param("completedAt") LocalDateTime completedAt);
+
+    // Transitions that only change the status (start, cancel)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE BookingEntity b SET b.status = :target, b.updatedAt = :now, b.version = b.version + 1
+            WHERE b.id = :id AND b.status = :expected
+            """)
+    int markStatus(@Param("id") Long id, @Param("expected") BookingStatus expected, @Param("target") BookingStatus target,
+                   @Param("now") LocalDateTime now);
+
+    @Query(BOOKING_LIST_VIEW + "WHERE b.id = :id")
+    Optional<BookingListView> findListViewById(@Param("id") Long id);
+
+    // Overlap probe on the GiST index behind ex_bookings_nurse_active_period (see V8 migration); dates are inclusive
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1 FROM bookings b
+                WHERE b.nurse_id = :nurseId
+                  AND b.status IN ('ACCEPTED', 'IN_PROGRESS')
+                  AND b.period && daterange(:startDate, :endDate, '[]')
+            )
+            """, nativeQuery = true)
+    boolean hasOverlappingBookings(@Param("nurseId") Long nurseId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
\ No newline at end of file
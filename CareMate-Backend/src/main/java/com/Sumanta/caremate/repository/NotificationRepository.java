@@ -2,17 +2,48 @@ package com.Sumanta.caremate.repository;
 
 import com.Sumanta.caremate.entity.NotificationEntity;
 import com.Sumanta.caremate.enums.UserRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
     Page<NotificationEntity> findByUserIdAndUserRoleOrderByCreatedAtDesc(Long userId, UserRole userRole, Pageable pageable);
     Page<NotificationEntity> findByUserIdAndUserRoleAndIsReadOrderByCreatedAtDesc(Long userId, UserRole userRole, Boolean isRead, Pageable pageable);
+
+    @Query("""
+            SELECT n FROM NotificationEntity n
+            WHERE n.userId = :userId AND n.userRole = :userRole
+              AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<NotificationEntity> findByUserIdAndUserRoleBefore(@Param("userId") Long userId,
+                                                           @Param("userRole") UserRole userRole,
+                                                           @Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") Long id,
+                                                           Limit limit);
+
+    @Query("""
+            SELECT n FROM NotificationEntity n
+            WHERE n.userId = :userId AND n.userRole = :userRole AND n.isRead = :isRead
+              AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<NotificationEntity> findByUserIdAndUserRoleAndIsReadBefore(@Param("userId") Long userId,
+                                                                    @Param("userRole") UserRole userRole,
+                                                                    @Param("isRead") Boolean isRead,
+                                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                                    @Param("id") Long id,
+                                                                    Limit limit);
+
     Long countByUserIdAndUserRoleAndIsRead(Long userId, UserRole userRole, Boolean isRead);
     Optional<NotificationEntity> findByIdAndUserIdAndUserRole(Long id, Long userId, UserRole userRole);
 }
\ No newline at end of file
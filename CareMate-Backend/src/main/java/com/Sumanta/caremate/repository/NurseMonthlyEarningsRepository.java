@@ -0,0 +1,20 @@
+package com.Sumanta.caremate.repository;
+
+import com.Sumanta.caremate.entity.NurseMonthlyEarningsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NurseMonthlyEarningsRepository extends JpaRepository<NurseMonthlyEarningsEntity, Long> {
+
+    Optional<NurseMonthlyEarningsEntity> findByNurseIdAndYearAndMonth(Long nurseId, Integer year, Integer month);
+
+    @Modifying
+    @Query("DELETE FROM NurseMonthlyEarningsEntity m WHERE m.nurseId = :nurseId")
+    void deleteByNurseId(@Param("nurseId") Long nurseId);
+}
@@ -1,9 +1,19 @@
 package com.Sumanta.caremate.repository;
 
 import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.enums.NurseStatus;
+import com.Sumanta.caremate.repository.projection.NurseListView;
+import com.Sumanta.caremate.repository.projection.NurseSpecializationView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +23,42 @@ public interface NurseRepository extends JpaRepository<NurseEntity, Long> {
     Optional<NurseEntity> findByFullNameAndMobileNoAndEmail(String fullName, String mobileNo, String email);
     boolean existsByEmail(String email);
     boolean existsByMobileNo(String mobileNo);
+
+    // Duty status is written in place so concurrent transitions for one nurse never overwrite each other's rows
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE NurseEntity n SET n.status = :status, n.version = n.version + 1 WHERE n.id = :id AND n.status <> :status")
+    int updateStatus(@Param("id") Long id, @Param("status") NurseStatus status);
+
+    // Back to AVAILABLE only from ON_DUTY and only once no accepted or in-progress booking remains
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE NurseEntity n SET n.status = :available, n.version = n.version + 1
+            WHERE n.id = :id AND n.status = :onDuty
+              AND NOT EXISTS (SELECT 1 FROM BookingEntity b
+                              WHERE b.nurse.id = n.id AND b.status IN ('ACCEPTED', 'IN_PROGRESS'))
+            """)
+    int releaseFromDuty(@Param("id") Long id,
+                        @Param("onDuty") NurseStatus onDuty,
+                        @Param("available") NurseStatus available);
+
+    @Modifying
+    @Query("UPDATE NurseEntity e SET e.password = :newHash, e.version = e.version + 1 WHERE e.id = :id AND e.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    @Query("SELECT COUNT(n) > 0 FROM NurseEntity n WHERE n.profileImage1 = :path OR n.profileImage2 = :path")
+    boolean existsByProfileImage(@Param("path") String path);
+
+    // Admin list view
+    @Query(value = """
+            SELECT new com.Sumanta.caremate.repository.projection.NurseListView(
+                n.id, n.fullName, n.mobileNo, n.email, n.profileImage1, n.profileImage2,
+                n.educationalQualification, n.yearsOfExperience, n.age, n.status, n.isActive, n.createdAt)
+            FROM NurseEntity n
+            ORDER BY n.id
+            """,
+            countQuery = "SELECT COUNT(n) FROM NurseEntity n")
+    Page<NurseListView> findListViews(Pageable pageable);
+
+    @Query("SELECT new com.Sumanta.caremate.repository.projection.NurseSpecializationView(n.id, s) FROM NurseEntity n JOIN n.specializations s WHERE n.id IN :nurseIds")
+    List<NurseSpecializationView> findSpecializations(@Param("nurseIds") Collection<Long> nurseIds);
 }
\ No newline at end of file
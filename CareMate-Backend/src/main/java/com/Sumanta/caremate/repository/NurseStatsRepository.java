@@ -0,0 +1,32 @@
+package com.Sumanta.caremate.repository;
+
+import com.Sumanta.caremate.entity.NurseStatsEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NurseStatsRepository extends JpaRepository<NurseStatsEntity, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM NurseStatsEntity s WHERE s.nurseId = :nurseId")
+    Optional<NurseStatsEntity> findByIdForUpdate(@Param("nurseId") Long nurseId);
+
+    // Rows normally come from the nurses insert trigger; this restores one that is missing
+    @Modifying
+    @Query(value = """
+            INSERT INTO nurse_stats (nurse_id, pending_count, accepted_count, rejected_count, in_progress_count,
+                                     completed_count, cancelled_count, total_earnings, review_count, rating_sum,
+                                     one_star_count, two_star_count, three_star_count, four_star_count, five_star_count,
+                                     updated_at)
+            VALUES (:nurseId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, now())
+            ON CONFLICT (nurse_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("nurseId") Long nurseId);
+}
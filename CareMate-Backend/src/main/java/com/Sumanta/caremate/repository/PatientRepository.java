@@ -2,6 +2,9 @@ package com.Sumanta.caremate.repository;
 
 import com.Sumanta.caremate.entity.PatientEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,4 +16,8 @@ public interface PatientRepository extends JpaRepository<PatientEntity, Long> {
     Optional<PatientEntity> findByFullNameAndMobileNoAndEmail(String fullName, String mobileNo, String email);
     boolean existsByEmail(String email);
     boolean existsByMobileNo(String mobileNo);
+
+    @Modifying
+    @Query("UPDATE PatientEntity e SET e.password = :newHash WHERE e.id = :id AND e.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
\ No newline at end of file
@@ -3,20 +3,55 @@ package com.Sumanta.caremate.repository;
 import com.Sumanta.caremate.entity.NurseEntity;
 import com.Sumanta.caremate.entity.PatientEntity;
 import com.Sumanta.caremate.entity.ReviewEntity;
+import com.Sumanta.caremate.repository.projection.RatingHistogramRow;
+import com.Sumanta.caremate.repository.projection.ReviewListView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
 
-    // Nurse related queries
-    Page<ReviewEntity> findByNurse(NurseEntity nurse, Pageable pageable);
+    // Nurse related queries - booking is only read for its id, so the FK proxy is enough
+    @EntityGraph(attributePaths = {"patient", "nurse"})
+    @Query(value = "SELECT r FROM ReviewEntity r WHERE r.nurse = :nurse",
+            countQuery = "SELECT COUNT(r) FROM ReviewEntity r WHERE r.nurse = :nurse")
+    Page<ReviewEntity> findByNurse(@Param("nurse") NurseEntity nurse, Pageable pageable);
+
+    @Query(value = """
+            SELECT new com.Sumanta.caremate.repository.projection.ReviewListView(
+                r.id, r.booking.id, p.id, p.fullName, n.id, n.fullName,
+                r.rating, r.comment, r.nurseReply, r.repliedAt, r.createdAt)
+            FROM ReviewEntity r JOIN r.patient p JOIN r.nurse n
+            WHERE r.nurse = :nurse
+            ORDER BY r.createdAt DESC, r.id DESC
+            """,
+            countQuery = "SELECT COUNT(r) FROM ReviewEntity r WHERE r.nurse = :nurse")
+    Page<ReviewListView> findListViewsByNurse(@Param("nurse") NurseEntity nurse, Pageable pageable);
+
+    @Query("""
+            SELECT new com.Sumanta.caremate.repository.projection.ReviewListView(
+                r.id, r.booking.id, p.id, p.fullName, n.id, n.fullName,
+                r.rating, r.comment, r.nurseReply, r.repliedAt, r.createdAt)
+            FROM ReviewEntity r JOIN r.patient p JOIN r.nurse n
+            WHERE r.nurse = :nurse
+              AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<ReviewListView> findListViewsByNurseBefore(@Param("nurse") NurseEntity nurse,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Limit limit);
+
     Optional<ReviewEntity> findByIdAndNurse(Long id, NurseEntity nurse);
     Long countByNurse(NurseEntity nurse);
 
@@ -26,8 +61,16 @@ public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
     @Query("SELECT COUNT(r) FROM ReviewEntity r WHERE r.nurse = :nurse AND r.rating = :rating")
     Long countByNurseAndRating(@Param("nurse") NurseEntity nurse, @Param("rating") Integer rating);
 
+    // Rating histogram - count and sum per star value in one grouped scan
+    @Query("SELECT r.rating AS rating, COUNT(r) AS reviewCount, SUM(r.rating) AS ratingSum FROM ReviewEntity r WHERE r.nurse = :nurse GROUP BY r.rating")
+    List<RatingHistogramRow> aggregateRatingHistogram(@Param("nurse") NurseEntity nurse);
+
     // Patient related queries
-    Page<ReviewEntity> findByPatient(PatientEntity patient, Pageable pageable);
+    @EntityGraph(attributePaths = {"patient", "nurse"})
+    @Query(value = "SELECT r FROM ReviewEntity r WHERE r.patient = :patient",
+            countQuery = "SELECT COUNT(r) FROM ReviewEntity r WHERE r.patient = :patient")
+    Page<ReviewEntity> findByPatient(@Param("patient") PatientEntity patient, Pageable pageable);
+
     Optional<ReviewEntity> findByIdAndPatient(Long id, PatientEntity patient);
     boolean existsByBookingId(Long bookingId);
 }
\ No newline at end of file
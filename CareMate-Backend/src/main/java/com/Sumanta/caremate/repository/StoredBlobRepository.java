@@ -0,0 +1,31 @@
+package com.Sumanta.caremate.repository;
+
+import com.Sumanta.caremate.entity.StoredBlobEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlobEntity, String> {
+
+    // Run after lockPath, so it cannot interleave with the removal of the same file
+    @Modifying
+    @Query(value = "INSERT INTO stored_blobs (path, ref_count, size_bytes, created_at) " +
+            "VALUES (:path, 1, :sizeBytes, now()) " +
+            "ON CONFLICT (path) DO UPDATE SET ref_count = stored_blobs.ref_count + 1", nativeQuery = true)
+    void addReference(@Param("path") String path, @Param("sizeBytes") long sizeBytes);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM StoredBlobEntity b WHERE b.path = :path")
+    Optional<StoredBlobEntity> findForUpdate(@Param("path") String path);
+
+    // Held until the transaction ends; serialises adding a reference against removing the file
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:path))", nativeQuery = true)
+    int lockPath(@Param("path") String path);
+}
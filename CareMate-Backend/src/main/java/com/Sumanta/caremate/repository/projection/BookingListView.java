@@ -0,0 +1,31 @@
+package com.Sumanta.caremate.repository.projection;
+
+import com.Sumanta.caremate.enums.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Booking list row - leaves out the notes, care report and rejection reason text columns
+public record BookingListView(
+        Long id,
+        Long patientId,
+        String patientName,
+        String patientEmail,
+        String patientMobile,
+        Long nurseId,
+        String nurseName,
+        String nurseEmail,
+        String nurseMobile,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal totalAmount,
+        BigDecimal baseCharge,
+        BigDecimal subscriptionCharge,
+        BookingStatus status,
+        LocalDateTime acceptedAt,
+        LocalDateTime rejectedAt,
+        LocalDateTime completedAt,
+        LocalDateTime createdAt
+) {
+}
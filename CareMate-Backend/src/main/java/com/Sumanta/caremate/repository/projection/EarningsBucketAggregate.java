@@ -0,0 +1,11 @@
+package com.Sumanta.caremate.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One date_trunc bucket of completed-booking earnings
+public interface EarningsBucketAggregate {
+    LocalDateTime getPeriodStart();
+    BigDecimal getEarnings();
+    Long getCompletedBookings();
+}
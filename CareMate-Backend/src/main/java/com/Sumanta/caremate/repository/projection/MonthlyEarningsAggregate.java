@@ -0,0 +1,11 @@
+package com.Sumanta.caremate.repository.projection;
+
+import java.math.BigDecimal;
+
+// Completed-booking earnings grouped by calendar month
+public interface MonthlyEarningsAggregate {
+    Integer getYear();
+    Integer getMonth();
+    BigDecimal getEarnings();
+    Long getCompletedBookings();
+}
@@ -0,0 +1,16 @@
+package com.Sumanta.caremate.repository.projection;
+
+import java.math.BigDecimal;
+
+// Per-nurse booking counters and earnings produced by a single conditional-aggregation query
+public interface NurseBookingAggregate {
+    Long getTotalBookings();
+    Long getPendingBookings();
+    Long getAcceptedBookings();
+    Long getRejectedBookings();
+    Long getInProgressBookings();
+    Long getCompletedBookings();
+    Long getCancelledBookings();
+    BigDecimal getTotalEarnings();
+    BigDecimal getEarningsSince();
+}
@@ -0,0 +1,22 @@
+package com.Sumanta.caremate.repository.projection;
+
+import com.Sumanta.caremate.enums.NurseStatus;
+
+import java.time.LocalDateTime;
+
+// Nurse list row - no password hash; specializations are loaded per page with NurseSpecializationView
+public record NurseListView(
+        Long id,
+        String fullName,
+        String mobileNo,
+        String email,
+        String profileImage1,
+        String profileImage2,
+        String educationalQualification,
+        Integer yearsOfExperience,
+        Integer age,
+        NurseStatus status,
+        Boolean isActive,
+        LocalDateTime createdAt
+) {
+}
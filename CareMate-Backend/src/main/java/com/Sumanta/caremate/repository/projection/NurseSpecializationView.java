@@ -0,0 +1,6 @@
+package com.Sumanta.caremate.repository.projection;
+
+import com.Sumanta.caremate.enums.PatientCategory;
+
+public record NurseSpecializationView(Long nurseId, PatientCategory category) {
+}
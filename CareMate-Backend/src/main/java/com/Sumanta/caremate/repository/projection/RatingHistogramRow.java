@@ -0,0 +1,8 @@
+package com.Sumanta.caremate.repository.projection;
+
+// Review count and rating sum for one star value
+public interface RatingHistogramRow {
+    Integer getRating();
+    Long getReviewCount();
+    Long getRatingSum();
+}
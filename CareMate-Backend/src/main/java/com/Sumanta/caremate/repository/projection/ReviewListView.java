@@ -0,0 +1,19 @@
+package com.Sumanta.caremate.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Review list row - patient and nurse names without hydrating either entity
+public record ReviewListView(
+        Long id,
+        Long bookingId,
+        Long patientId,
+        String patientName,
+        Long nurseId,
+        String nurseName,
+        Integer rating,
+        String comment,
+        String nurseReply,
+        LocalDateTime repliedAt,
+        LocalDateTime createdAt
+) {
+}
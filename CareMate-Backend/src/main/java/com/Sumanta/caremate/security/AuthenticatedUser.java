@@ -0,0 +1,28 @@
+package com.Sumanta.caremate.security;
+
+import com.Sumanta.caremate.enums.UserRole;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+/**
+ * Principal placed in the SecurityContext by {@link JWTRequestFilter}.
+ * Carries the resolved entity id and role so services never look the user up by email again.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+    private final UserRole role;
+    private final boolean active;
+
+    public AuthenticatedUser(Long id, String email, String password, UserRole role, boolean active) {
+        super(email, password, active, true, true, true,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        this.id = id;
+        this.role = role;
+        this.active = active;
+    }
+}
@@ -1,17 +1,18 @@
 package com.Sumanta.caremate.security;
 
+import com.Sumanta.caremate.enums.UserRole;
 import com.Sumanta.caremate.util.JWTUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,8 +24,11 @@ import java.io.IOException;
 @Slf4j
 public class JWTRequestFilter extends OncePerRequestFilter {
 
-    private final JWTUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final JwtTokenVerifier tokenVerifier;
+    private final CustomUserDetailsService userDetailsService;
+
+    @Value("${jwt.stateless:true}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(
@@ -34,25 +38,20 @@ public class JWTRequestFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
         try {
-            if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-                jwt = authorizationHeader.substring(7);
-                username = jwtUtil.extractUsername(jwt);
-            }
+            if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Signature and expiry are verified here; an invalid token throws
+                Claims claims = tokenVerifier.verify(authorizationHeader.substring(7));
+                AuthenticatedUser user = resolveUser(claims);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (user != null && user.isActive()) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
+                                    user, null, user.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("JWT authentication successful for user: {}", username);
+                    log.debug("JWT authentication successful for user: {}", user.getUsername());
                 }
             }
         } catch (Exception e) {
@@ -61,4 +60,17 @@ public class JWTRequestFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private AuthenticatedUser resolveUser(Claims claims) {
+        Number userId = claims.get(JWTUtil.USER_ID_CLAIM, Number.class);
+        String role = claims.get(JWTUtil.ROLE_CLAIM, String.class);
+
+        // Tokens issued before id/role claims existed, or stateless mode switched off
+        if (!statelessAuth || userId == null || role == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        // No account lookup and no revocation: the token stands until it expires
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), "", UserRole.valueOf(role), true);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.Sumanta.caremate.security;
+
+import com.Sumanta.caremate.util.JWTUtil;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Verifies bearer tokens once and remembers the result. Recently verified tokens are kept in a
+ * small LRU keyed by their SHA-256 hash, so repeat requests with the same token skip the
+ * signature check and JSON parse until the token expires.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private final JWTUtil jwtUtil;
+    private final Map<String, Claims> verified;
+
+    public JwtTokenVerifier(JWTUtil jwtUtil, @Value("${jwt.verification-cache.size:1024}") int cacheSize) {
+        this.jwtUtil = jwtUtil;
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public Claims verify(String token) {
+        String key = hash(token);
+        Claims claims;
+        synchronized (verified) {
+            claims = verified.get(key);
+        }
+
+        if (claims != null) {
+            if (!isExpired(claims)) {
+                return claims;
+            }
+            synchronized (verified) {
+                verified.remove(key);
+            }
+        }
+
+        // Throws on a bad signature or an expired token, so only valid claims are cached
+        claims = jwtUtil.parseToken(token);
+        synchronized (verified) {
+            verified.put(key, claims);
+        }
+        return claims;
+    }
+
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
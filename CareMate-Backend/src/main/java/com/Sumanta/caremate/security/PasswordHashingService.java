@@ -0,0 +1,111 @@
+package com.Sumanta.caremate.security;
+
+import com.Sumanta.caremate.config.AsyncConfig;
+import com.Sumanta.caremate.enums.UserRole;
+import com.Sumanta.caremate.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on the dedicated passwordHashExecutor instead of the servlet thread.
+ * When a login succeeds against a hash made with a lower BCrypt cost than app.security.bcrypt.strength,
+ * the password is re-hashed at the configured cost and stored, so raising the cost needs no reset.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserDirectoryService userDirectoryService;
+    private final AsyncTaskExecutor hashExecutor;
+    private final long retryAfterSeconds;
+    private final Timer verifyTimer;
+    private final Timer encodeTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  UserDirectoryService userDirectoryService,
+                                  @Qualifier(AsyncConfig.PASSWORD_HASH_EXECUTOR) AsyncTaskExecutor hashExecutor,
+                                  @Value("${app.security.hashing.retry-after-seconds:2}") long retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.userDirectoryService = userDirectoryService;
+        this.hashExecutor = hashExecutor;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.verifyTimer = hashTimer(meterRegistry, "verify");
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("Time a hashing task waited for a free thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Hashing requests refused because the executor queue was full")
+                .register(meterRegistry);
+    }
+
+    // Completes with whether the password matches; a hash made with an outdated cost is replaced on the way
+    public CompletableFuture<Boolean> verify(UserRole role, Long userId, String email, String rawPassword, String storedHash) {
+        return submit(() -> {
+            boolean matches = verifyTimer.record(() -> passwordEncoder.matches(rawPassword, storedHash));
+            if (matches && passwordEncoder.upgradeEncoding(storedHash)) {
+                upgrade(role, userId, email, rawPassword, storedHash);
+            }
+            return matches;
+        });
+    }
+
+    // Blocking variant for registration, which already waits on other work; still bounded by the pool
+    public String encode(String rawPassword) {
+        try {
+            return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, hashExecutor);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            log.warn("Password hashing executor saturated, rejecting request");
+            throw new TooManyRequestsException("Server is busy, please retry shortly", retryAfterSeconds);
+        }
+    }
+
+    // A failed upgrade must not fail the login; the next successful login simply tries again
+    private void upgrade(UserRole role, Long userId, String email, String rawPassword, String storedHash) {
+        try {
+            String upgradedHash = encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
+            userDirectoryService.upgradePasswordHash(role, userId, email, storedHash, upgradedHash);
+        } catch (RuntimeException e) {
+            log.warn("Could not upgrade password hash for {} {}", role, userId, e);
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("Time spent computing password hashes")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
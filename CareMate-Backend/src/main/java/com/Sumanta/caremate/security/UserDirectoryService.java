@@ -0,0 +1,164 @@
+package com.Sumanta.caremate.security;
+
+import com.Sumanta.caremate.entity.AdminEntity;
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.entity.PatientEntity;
+import com.Sumanta.caremate.entity.UserAccountEntity;
+import com.Sumanta.caremate.enums.UserRole;
+import com.Sumanta.caremate.repository.AdminRepository;
+import com.Sumanta.caremate.repository.NurseRepository;
+import com.Sumanta.caremate.repository.PatientRepository;
+import com.Sumanta.caremate.repository.UserAccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Resolves a login email to its account with a single probe of user_accounts, behind an
+ * in-process cache. Rows are written on registration; accounts created before the table
+ * existed are backfilled from the admin/nurse/patient tables the first time they are looked up.
+ * Callers must go through {@link #register} or {@link #invalidate} whenever the role,
+ * password hash or active flag of an account changes.
+ */
+@Service
+@Slf4j
+public class UserDirectoryService {
+
+    private final UserAccountRepository userAccountRepository;
+    private final AdminRepository adminRepository;
+    private final NurseRepository nurseRepository;
+    private final PatientRepository patientRepository;
+    private final Cache<String, Account> cache;
+
+    public UserDirectoryService(UserAccountRepository userAccountRepository,
+                                AdminRepository adminRepository,
+                                NurseRepository nurseRepository,
+                                PatientRepository patientRepository,
+                                @Value("${app.user-directory.cache.max-size:10000}") long maxSize,
+                                @Value("${app.user-directory.cache.ttl:PT10M}") Duration ttl) {
+        this.userAccountRepository = userAccountRepository;
+        this.adminRepository = adminRepository;
+        this.nurseRepository = nurseRepository;
+        this.patientRepository = patientRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Optional<AuthenticatedUser> findByEmail(String email) {
+        return Optional.ofNullable(cache.get(normalize(email), key -> load(email, key)))
+                .map(Account::toPrincipal);
+    }
+
+    public void register(UserRole role, Long userId, String email, String passwordHash, boolean active) {
+        String key = normalize(email);
+        userAccountRepository.findById(key)
+                .filter(existing -> existing.getRole() != role || !existing.getUserId().equals(userId))
+                .ifPresent(existing -> {
+                    throw new RuntimeException("Email already registered");
+                });
+        userAccountRepository.save(new UserAccountEntity(key, role, userId, passwordHash, active, null));
+        invalidate(email);
+    }
+
+    // Replaces a hash only if it is still the one the upgrade was computed from, so a concurrent password change wins
+    @Transactional
+    public void upgradePasswordHash(UserRole role, Long userId, String email, String oldHash, String newHash) {
+        int updated = switch (role) {
+            case ADMIN -> adminRepository.updatePasswordHash(userId, oldHash, newHash);
+            case NURSE -> nurseRepository.updatePasswordHash(userId, oldHash, newHash);
+            case PATIENT -> patientRepository.updatePasswordHash(userId, oldHash, newHash);
+        };
+        if (updated == 0) {
+            return;
+        }
+        userAccountRepository.findById(normalize(email))
+                .filter(account -> account.getPassword().equals(oldHash))
+                .ifPresent(account -> account.setPassword(newHash));
+        invalidate(email);
+        log.info("Upgraded password hash for {} {}", role, userId);
+    }
+
+    // Evicts now and again after commit, so a read racing the transaction cannot re-cache stale data
+    public void invalidate(String email) {
+        String key = normalize(email);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private Account load(String email, String key) {
+        Optional<UserAccountEntity> account = userAccountRepository.findById(key);
+        if (account.isPresent()) {
+            UserAccountEntity a = account.get();
+            return new Account(a.getUserId(), a.getEmail(), a.getPassword(), a.getRole(), a.getIsActive());
+        }
+
+        Account loaded = loadFromSourceTables(email);
+        if (loaded != null) {
+            backfill(key, loaded);
+        }
+        return loaded;
+    }
+
+    private Account loadFromSourceTables(String email) {
+        Optional<AdminEntity> admin = adminRepository.findByEmail(email);
+        if (admin.isPresent()) {
+            AdminEntity a = admin.get();
+            return new Account(a.getId(), a.getEmail(), a.getPassword(), a.getRole(), a.getIsActive());
+        }
+
+        Optional<NurseEntity> nurse = nurseRepository.findByEmail(email);
+        if (nurse.isPresent()) {
+            NurseEntity n = nurse.get();
+            return new Account(n.getId(), n.getEmail(), n.getPassword(), n.getRole(), n.getIsActive());
+        }
+
+        Optional<PatientEntity> patient = patientRepository.findByEmail(email);
+        if (patient.isPresent()) {
+            PatientEntity p = patient.get();
+            return new Account(p.getId(), p.getEmail(), p.getPassword(), p.getRole(), p.getIsActive());
+        }
+
+        return null;
+    }
+
+    private void backfill(String key, Account account) {
+        try {
+            userAccountRepository.save(new UserAccountEntity(
+                    key, account.role(), account.userId(), account.password(), account.active(), null));
+        } catch (DataIntegrityViolationException e) {
+            // Another request backfilled the same account first
+            log.debug("User account {} already backfilled", key);
+        }
+    }
+
+    private String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Immutable cache value; a fresh principal is built per lookup because Spring Security may erase its credentials
+    private record Account(Long userId, String email, String password, UserRole role, boolean active) {
+
+        AuthenticatedUser toPrincipal() {
+            return new AuthenticatedUser(userId, email, password, role, active);
+        }
+    }
+}
@@ -5,10 +5,14 @@ import com.Sumanta.caremate.dto.AuthResponse;
 import com.Sumanta.caremate.dto.NurseDTO;
 import com.Sumanta.caremate.dto.PageResponse;
 import com.Sumanta.caremate.entity.AdminEntity;
-import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.enums.PatientCategory;
 import com.Sumanta.caremate.enums.UserRole;
 import com.Sumanta.caremate.repository.AdminRepository;
 import com.Sumanta.caremate.repository.NurseRepository;
+import com.Sumanta.caremate.repository.projection.NurseListView;
+import com.Sumanta.caremate.repository.projection.NurseSpecializationView;
+import com.Sumanta.caremate.security.PasswordHashingService;
+import com.Sumanta.caremate.security.UserDirectoryService;
 import com.Sumanta.caremate.util.JWTUtil;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +21,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +39,8 @@ public class AdminService {
     private final AdminRepository adminRepository;
     private final PasswordEncoder passwordEncoder;
     private final JWTUtil jwtUtil;
+    private final UserDirectoryService userDirectoryService;
+    private final PasswordHashingService passwordHashingService;
     private final NurseRepository nurseRepository;
 
     @PostConstruct
@@ -45,12 +57,15 @@ public class AdminService {
             admin.setPassword(passwordEncoder.encode(password));
             admin.setRole(UserRole.ADMIN);
             admin.setIsActive(true);
-            adminRepository.save(admin);
+            AdminEntity savedAdmin = adminRepository.save(admin);
+            userDirectoryService.register(UserRole.ADMIN, savedAdmin.getId(), savedAdmin.getEmail(),
+                    savedAdmin.getPassword(), savedAdmin.getIsActive());
             log.info("Admin created: {}", email);
         }
     }
 
-    public AuthResponse login(AdminLoginRequest request) {
+    // The BCrypt check runs on the password hashing pool; the returned future completes there
+    public CompletableFuture<AuthResponse> login(AdminLoginRequest request) {
         AdminEntity admin = adminRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
@@ -58,25 +73,39 @@ public class AdminService {
             throw new RuntimeException("Admin account is deactivated");
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), admin.getPassword())) {
-            throw new RuntimeException("Invalid email or password");
-        }
-
-        String token = jwtUtil.generateToken(admin.getEmail());
-
-        return new AuthResponse(
-                token,
-                UserRole.ADMIN,
-                admin.getEmail(),
-                "Admin login successful"
-        );
+        return passwordHashingService.verify(UserRole.ADMIN, admin.getId(), admin.getEmail(),
+                        request.getPassword(), admin.getPassword())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new RuntimeException("Invalid email or password");
+                    }
+
+                    String token = jwtUtil.generateToken(admin.getEmail(), admin.getId(), admin.getRole());
+
+                    return new AuthResponse(
+                            token,
+                            UserRole.ADMIN,
+                            admin.getEmail(),
+                            "Admin login successful"
+                    );
+                });
     }
 
+    @Transactional(readOnly = true)
     public PageResponse<NurseDTO> getAllNurses(Pageable pageable) {
-        Page<NurseEntity> nursePage = nurseRepository.findAll(pageable);
+        Page<NurseListView> nursePage = nurseRepository.findListViews(pageable);
+
+        // One query for the whole page's specializations instead of one per nurse
+        Map<Long, Set<PatientCategory>> specializations = new HashMap<>();
+        if (nursePage.hasContent()) {
+            List<Long> nurseIds = nursePage.getContent().stream().map(NurseListView::id).toList();
+            for (NurseSpecializationView row : nurseRepository.findSpecializations(nurseIds)) {
+                specializations.computeIfAbsent(row.nurseId(), id -> new HashSet<>()).add(row.category());
+            }
+        }
 
         List<NurseDTO> nurseDTOs = nursePage.getContent().stream()
-                .map(this::convertToNurseDTO)
+                .map(nurse -> convertToNurseDTO(nurse, specializations.getOrDefault(nurse.id(), new HashSet<>())))
                 .collect(Collectors.toList());
 
         return new PageResponse<>(
@@ -89,21 +118,21 @@ public class AdminService {
         );
     }
 
-    private NurseDTO convertToNurseDTO(NurseEntity nurse) {
+    private NurseDTO convertToNurseDTO(NurseListView nurse, Set<PatientCategory> specializations) {
         NurseDTO dto = new NurseDTO();
-        dto.setId(nurse.getId());
-        dto.setFullName(nurse.getFullName());
-        dto.setMobileNo(nurse.getMobileNo());
-        dto.setEmail(nurse.getEmail());
-        dto.setProfileImage1(nurse.getProfileImage1());
-        dto.setProfileImage2(nurse.getProfileImage2());
-        dto.setEducationalQualification(nurse.getEducationalQualification());
-        dto.setYearsOfExperience(nurse.getYearsOfExperience());
-        dto.setAge(nurse.getAge());
-        dto.setSpecializations(nurse.getSpecializations());
-        dto.setStatus(nurse.getStatus());
-        dto.setIsActive(nurse.getIsActive());
-        dto.setCreatedAt(nurse.getCreatedAt());
+        dto.setId(nurse.id());
+        dto.setFullName(nurse.fullName());
+        dto.setMobileNo(nurse.mobileNo());
+        dto.setEmail(nurse.email());
+        dto.setProfileImage1(nurse.profileImage1());
+        dto.setProfileImage2(nurse.profileImage2());
+        dto.setEducationalQualification(nurse.educationalQualification());
+        dto.setYearsOfExperience(nurse.yearsOfExperience());
+        dto.setAge(nurse.age());
+        dto.setSpecializations(specializations);
+        dto.setStatus(nurse.status());
+        dto.setIsActive(nurse.isActive());
+        dto.setCreatedAt(nurse.createdAt());
         dto.setRating(0.0); // Will implement later with reviews
         dto.setTotalReviews(0);
         return dto;
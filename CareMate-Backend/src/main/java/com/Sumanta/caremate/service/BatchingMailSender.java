@@ -0,0 +1,69 @@
+package com.Sumanta.caremate.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends a batch of messages through one JavaMailSender.send(MimeMessage...) call, which
+ * JavaMailSenderImpl delivers over a single SMTP connection. Failures are reported per message
+ * so the caller can retry only those.
+ */
+@Component
+@Slf4j
+public class BatchingMailSender {
+
+    private final JavaMailSender mailSender;
+    private final DistributionSummary batchSize;
+    private final Timer sendLatency;
+
+    public BatchingMailSender(JavaMailSender mailSender, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.batchSize = DistributionSummary.builder("mail.batch.size")
+                .description("Messages delivered per SMTP connection")
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("mail.batch.send")
+                .description("Time to deliver one batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Returns the messages that failed, keyed by identity, with their cause; empty when all were sent
+    public Map<MimeMessage, Exception> send(List<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        batchSize.record(messages.size());
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                // Connection-level failure: nothing in the batch was delivered
+                messages.forEach(message -> failures.put(message, e));
+            } else {
+                failed.forEach((message, cause) -> failures.put((MimeMessage) message, cause));
+            }
+        } catch (MailException e) {
+            messages.forEach(message -> failures.put(message, e));
+        } finally {
+            sample.stop(sendLatency);
+        }
+
+        log.info("Mail batch delivered: {} sent, {} failed", messages.size() - failures.size(), failures.size());
+        return failures;
+    }
+}
@@ -0,0 +1,118 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.config.AsyncConfig;
+import com.Sumanta.caremate.enums.EmailType;
+import com.Sumanta.caremate.enums.NotificationType;
+import com.Sumanta.caremate.enums.UserRole;
+import com.Sumanta.caremate.event.BookingStatusChangedEvent;
+import com.Sumanta.caremate.repository.BookingRepository;
+import com.Sumanta.caremate.repository.projection.BookingListView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns booking transitions into outgoing emails and in-app notifications. Emails are queued in
+ * the outbox before commit so they are only sent if the transition sticks; in-app notifications
+ * are written after commit on the event executor, off the request thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingNotificationListener {
+
+    private final BookingRepository bookingRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final NotificationService notificationService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void enqueueEmail(BookingStatusChangedEvent event) {
+        EmailType type = switch (event.to()) {
+            case ACCEPTED -> EmailType.BOOKING_ACCEPTED;
+            case REJECTED -> EmailType.BOOKING_REJECTED;
+            case COMPLETED -> EmailType.BOOKING_COMPLETED;
+            default -> null;
+        };
+        if (type == null) {
+            return;
+        }
+
+        BookingListView booking = loadBooking(event.bookingId());
+        Map<String, String> params = bookingEmailParams(booking);
+        if (type == EmailType.BOOKING_REJECTED) {
+            params.put("reason", event.note() != null ? event.note() : "No reason was given");
+        }
+        emailOutboxService.enqueue(type, booking.patientEmail(), params);
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void createNotification(BookingStatusChangedEvent event) {
+        BookingListView booking = loadBooking(event.bookingId());
+        switch (event.to()) {
+            case ACCEPTED -> notificationService.createNotification(
+                    booking.patientId(),
+                    UserRole.PATIENT,
+                    NotificationType.BOOKING_ACCEPTED,
+                    "Booking Accepted",
+                    "Your booking has been accepted by " + booking.nurseName(),
+                    booking.id()
+            );
+            case REJECTED -> notificationService.createNotification(
+                    booking.patientId(),
+                    UserRole.PATIENT,
+                    NotificationType.BOOKING_REJECTED,
+                    "Booking Rejected",
+                    "Your booking has been rejected by " + booking.nurseName(),
+                    booking.id()
+            );
+            case IN_PROGRESS -> notificationService.createNotification(
+                    booking.patientId(),
+                    UserRole.PATIENT,
+                    NotificationType.GENERAL,
+                    "Care Started",
+                    booking.nurseName() + " has started your booked care",
+                    booking.id()
+            );
+            case COMPLETED -> notificationService.createNotification(
+                    booking.patientId(),
+                    UserRole.PATIENT,
+                    NotificationType.BOOKING_COMPLETED,
+                    "Booking Completed",
+                    "Your booking with " + booking.nurseName() + " has been completed",
+                    booking.id()
+            );
+            case CANCELLED -> notificationService.createNotification(
+                    booking.nurseId(),
+                    UserRole.NURSE,
+                    NotificationType.BOOKING_CANCELLED,
+                    "Booking Cancelled",
+                    "Your booking with " + booking.patientName() + " has been cancelled",
+                    booking.id()
+            );
+            default -> log.debug("No notification for booking {} moving to {}", booking.id(), event.to());
+        }
+    }
+
+    private BookingListView loadBooking(Long bookingId) {
+        return bookingRepository.findListViewById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+    }
+
+    private Map<String, String> bookingEmailParams(BookingListView booking) {
+        Map<String, String> params = new HashMap<>();
+        params.put("patientName", booking.patientName());
+        params.put("nurseName", booking.nurseName());
+        params.put("bookingId", String.valueOf(booking.id()));
+        params.put("startDate", String.valueOf(booking.startDate()));
+        params.put("endDate", String.valueOf(booking.endDate()));
+        params.put("totalAmount", booking.totalAmount() != null ? booking.totalAmount().toPlainString() : "0");
+        return params;
+    }
+}
@@ -0,0 +1,116 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.config.ResilienceConfig;
+import com.Sumanta.caremate.entity.BookingEntity;
+import com.Sumanta.caremate.entity.BookingEventEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.enums.UserRole;
+import com.Sumanta.caremate.event.BookingStatusChangedEvent;
+import com.Sumanta.caremate.repository.BookingEventRepository;
+import com.Sumanta.caremate.repository.BookingRepository;
+import io.github.resilience4j.retry.Retry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static com.Sumanta.caremate.enums.BookingStatus.*;
+
+/**
+ * Single place that decides which booking status changes are legal. A transition validates
+ * against the table below, applies the caller's conditional update, appends a booking_events
+ * row and publishes a {@link BookingStatusChangedEvent}. Side effects (emails, in-app
+ * notifications) subscribe to that event instead of being called from the services; nurse stats
+ * follow the status column through a database trigger.
+ */
+@Service
+@Slf4j
+public class BookingStateMachine {
+
+    private static final Map<BookingStatus, Set<BookingStatus>> TRANSITIONS = new EnumMap<>(BookingStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(ACCEPTED, REJECTED, CANCELLED));
+        TRANSITIONS.put(ACCEPTED, EnumSet.of(IN_PROGRESS, COMPLETED, CANCELLED));
+        TRANSITIONS.put(IN_PROGRESS, EnumSet.of(COMPLETED));
+        TRANSITIONS.put(REJECTED, EnumSet.noneOf(BookingStatus.class));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(BookingStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(BookingStatus.class));
+    }
+
+    private final BookingRepository bookingRepository;
+    private final BookingEventRepository bookingEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Retry transitionRetry;
+
+    public BookingStateMachine(BookingRepository bookingRepository,
+                               BookingEventRepository bookingEventRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               TransactionTemplate transactionTemplate,
+                               @Qualifier(ResilienceConfig.BOOKING_TRANSITION_RETRY) Retry transitionRetry) {
+        this.bookingRepository = bookingRepository;
+        this.bookingEventRepository = bookingEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.transitionRetry = transitionRetry;
+    }
+
+    public boolean canTransition(BookingStatus from, BookingStatus to) {
+        return TRANSITIONS.get(from).contains(to);
+    }
+
+    public void requireTransition(BookingStatus from, BookingStatus to) {
+        if (!canTransition(from, to)) {
+            throw new RuntimeException("Booking cannot be moved from " + from + " to " + to);
+        }
+    }
+
+    // Runs a transition in its own transaction; a lost race is retried from a fresh read
+    public <T> T inTransaction(Supplier<T> transition) {
+        return transitionRetry.executeSupplier(() -> transactionTemplate.execute(status -> transition.get()));
+    }
+
+    /**
+     * Moves the booking to target. conditionalUpdate must only change the row while it is still in
+     * booking's current status and return the affected row count; 0 means a concurrent transition
+     * won and surfaces as an optimistic locking failure (retried by {@link #inTransaction}).
+     * Returns the booking as stored after the update.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BookingEntity transition(BookingEntity booking, BookingStatus target, UserRole actorRole, Long actorId,
+                                    String note, IntSupplier conditionalUpdate) {
+        BookingStatus from = booking.getStatus();
+        requireTransition(from, target);
+
+        if (conditionalUpdate.getAsInt() == 0) {
+            throw new OptimisticLockingFailureException("Booking " + booking.getId() + " was changed concurrently");
+        }
+
+        BookingEntity updated = bookingRepository.findById(booking.getId())
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        Long nurseId = updated.getNurse().getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        bookingEventRepository.save(new BookingEventEntity(
+                null, updated.getId(), nurseId, from, target, actorRole, actorId, note, now));
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(
+                updated.getId(), nurseId, updated.getPatient().getId(), from, target, actorRole, actorId, note,
+                updated.getTotalAmount(), updated.getCompletedAt(), now));
+
+        log.info("Booking {} moved from {} to {} by {} {}", updated.getId(), from, target, actorRole, actorId);
+        return updated;
+    }
+}
@@ -0,0 +1,96 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.config.AsyncConfig;
+import com.Sumanta.caremate.entity.EmailOutboxEntity;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Polls the email outbox and delivers due emails on the mail executor; safe to run on every node
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService outboxService;
+    private final EmailService emailService;
+    private final BatchingMailSender batchingMailSender;
+    private final AsyncTaskExecutor mailExecutor;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    // Messages sent per SMTP connection; a claimed batch is split across this many connections in parallel
+    @Value("${app.mail.outbox.messages-per-connection:25}")
+    private int messagesPerConnection;
+
+    @Value("${app.mail.outbox.retention-days:7}")
+    private int retentionDays;
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService,
+                                 EmailService emailService,
+                                 BatchingMailSender batchingMailSender,
+                                 @Qualifier(AsyncConfig.MAIL_EXECUTOR) AsyncTaskExecutor mailExecutor) {
+        this.outboxService = outboxService;
+        this.emailService = emailService;
+        this.batchingMailSender = batchingMailSender;
+        this.mailExecutor = mailExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        List<EmailOutboxEntity> batch;
+        do {
+            batch = outboxService.claimBatch(batchSize);
+            List<CompletableFuture<Void>> sends = new ArrayList<>();
+            for (int from = 0; from < batch.size(); from += messagesPerConnection) {
+                List<EmailOutboxEntity> chunk = batch.subList(from, Math.min(from + messagesPerConnection, batch.size()));
+                sends.add(CompletableFuture.runAsync(() -> deliver(chunk), mailExecutor));
+            }
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 0 4 * * *}")
+    public void purgeSent() {
+        int purged = outboxService.purgeSent(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Purged {} sent emails from the outbox", purged);
+    }
+
+    private void deliver(List<EmailOutboxEntity> emails) {
+        // MimeMessage has identity equality, so it can key the map back to its outbox row
+        Map<MimeMessage, EmailOutboxEntity> messages = new LinkedHashMap<>();
+        for (EmailOutboxEntity email : emails) {
+            try {
+                messages.put(emailService.createMessage(email.getType(), email.getRecipient(), email.getParams()), email);
+            } catch (Exception e) {
+                outboxService.markFailed(email.getId(), e);
+            }
+        }
+
+        Map<MimeMessage, Exception> failures = batchingMailSender.send(new ArrayList<>(messages.keySet()));
+
+        List<Long> sent = new ArrayList<>();
+        messages.forEach((message, email) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sent.add(email.getId());
+            } else {
+                log.warn("Email {} to {} failed on attempt {}: {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), failure.getMessage());
+                outboxService.markFailed(email.getId(), failure);
+            }
+        });
+        outboxService.markSent(sent);
+    }
+}
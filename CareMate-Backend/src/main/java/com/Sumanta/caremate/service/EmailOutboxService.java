@@ -0,0 +1,103 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.entity.EmailOutboxEntity;
+import com.Sumanta.caremate.enums.EmailOutboxStatus;
+import com.Sumanta.caremate.enums.EmailType;
+import com.Sumanta.caremate.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional outbox for emails. {@link #enqueue} joins the caller's transaction so an email
+ * exists only if the business change commits; {@link EmailOutboxDispatcher} delivers it later.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+
+    @Value("${app.mail.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(EmailType type, String recipient, Map<String, String> params) {
+        EmailOutboxEntity email = new EmailOutboxEntity();
+        email.setType(type);
+        email.setRecipient(recipient);
+        email.setParams(params);
+        email.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.save(email);
+    }
+
+    // Claims due rows and leases them; a dispatcher that dies mid-send leaves them to be retried after the lease
+    @Transactional
+    public List<EmailOutboxEntity> claimBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxEntity> batch = outboxRepository.claimDue(now, batchSize);
+        for (EmailOutboxEntity email : batch) {
+            email.setStatus(EmailOutboxStatus.SENDING);
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(now.plus(lease));
+        }
+        return outboxRepository.saveAll(batch);
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            outboxRepository.markSent(ids, LocalDateTime.now());
+        }
+    }
+
+    @Transactional
+    public void markFailed(Long id, Exception error) {
+        outboxRepository.findById(id).ifPresent(email -> {
+            email.setLastError(truncate(String.valueOf(error.getMessage())));
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailOutboxStatus.FAILED);
+                log.error("Giving up on {} email {} to {} after {} attempts",
+                        email.getType(), id, email.getRecipient(), email.getAttempts());
+                return;
+            }
+            email.setStatus(EmailOutboxStatus.PENDING);
+            email.setNextAttemptAt(LocalDateTime.now().plus(backoff(email.getAttempts())));
+        });
+    }
+
+    @Transactional
+    public int purgeSent(LocalDateTime before) {
+        return outboxRepository.deleteSentBefore(before);
+    }
+
+    // initialBackoff * 2^(attempts - 1), capped at maxBackoff
+    private Duration backoff(int attempts) {
+        int exponent = Math.min(attempts - 1, 20);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
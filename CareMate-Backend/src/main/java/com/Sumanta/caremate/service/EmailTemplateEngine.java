@@ -0,0 +1,157 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.enums.EmailType;
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal template engine for emails. Templates under templates/email are parsed once at startup
+ * into literal segments and placeholders; rendering only appends to a per-thread buffer.
+ * <ul>
+ *     <li>{@code {{name}}} - parameter value, HTML-escaped in bodies</li>
+ *     <li>{@code {{> partial}}} - contents of templates/email/partials/partial.html, inlined at compile time</li>
+ * </ul>
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final String TEMPLATE_ROOT = "templates/email/";
+    private static final int BUFFER_CAPACITY = 16 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_CAPACITY));
+
+    private final Map<EmailType, Template> bodies = new EnumMap<>(EmailType.class);
+    private final Map<EmailType, Template> subjects = new EnumMap<>(EmailType.class);
+
+    @PostConstruct
+    void compileTemplates() {
+        for (EmailType type : EmailType.values()) {
+            bodies.put(type, compile(load(TEMPLATE_ROOT + type.getTemplate() + ".html"), true));
+            subjects.put(type, compile(type.getSubject(), false));
+        }
+    }
+
+    public String renderBody(EmailType type, Map<String, String> params) {
+        return render(bodies.get(type), params);
+    }
+
+    public String renderSubject(EmailType type, Map<String, String> params) {
+        return render(subjects.get(type), params);
+    }
+
+    private String render(Template template, Map<String, String> params) {
+        StringBuilder out = BUFFER.get();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            // Don't let one oversized render pin a large buffer to the thread forever
+            out = new StringBuilder(BUFFER_CAPACITY);
+            BUFFER.set(out);
+        }
+        out.setLength(0);
+
+        for (Segment segment : template.segments()) {
+            if (segment.placeholder() == null) {
+                out.append(segment.text());
+                continue;
+            }
+            String value = params.get(segment.placeholder());
+            if (value == null) {
+                throw new IllegalArgumentException("Missing email parameter: " + segment.placeholder());
+            }
+            if (template.escapeHtml()) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        return out.toString();
+    }
+
+    // ==================== COMPILATION ====================
+
+    private Template compile(String source, boolean escapeHtml) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        appendSegments(source, segments, literal);
+        if (!literal.isEmpty()) {
+            segments.add(Segment.literal(literal.toString()));
+        }
+        return new Template(List.copyOf(segments), escapeHtml);
+    }
+
+    // Adjacent literals, including those from partials, are merged into one segment
+    private void appendSegments(String source, List<Segment> segments, StringBuilder literal) {
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                literal.append(source, position, source.length());
+                break;
+            }
+            int close = source.indexOf("}}", open);
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed placeholder in email template at offset " + open);
+            }
+
+            literal.append(source, position, open);
+            String tag = source.substring(open + 2, close).trim();
+            if (tag.startsWith(">")) {
+                String partial = load(TEMPLATE_ROOT + "partials/" + tag.substring(1).trim() + ".html");
+                appendSegments(partial, segments, literal);
+            } else {
+                if (!literal.isEmpty()) {
+                    segments.add(Segment.literal(literal.toString()));
+                    literal.setLength(0);
+                }
+                segments.add(Segment.placeholder(tag));
+            }
+            position = close + 2;
+        }
+    }
+
+    private String load(String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Email template not found: " + path, e);
+        }
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private record Template(List<Segment> segments, boolean escapeHtml) {
+    }
+
+    // Either literal text or a placeholder name
+    private record Segment(String text, String placeholder) {
+
+        static Segment literal(String text) {
+            return new Segment(text, null);
+        }
+
+        static Segment placeholder(String name) {
+            return new Segment(null, name);
+        }
+    }
+}
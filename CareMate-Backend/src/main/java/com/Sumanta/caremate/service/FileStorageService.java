@@ -1,52 +1,253 @@
 package com.Sumanta.caremate.service;
 
+import com.Sumanta.caremate.config.AsyncConfig;
+import com.Sumanta.caremate.entity.StoredBlobEntity;
+import com.Sumanta.caremate.exception.UploadRejectedException;
+import com.Sumanta.caremate.repository.StoredBlobRepository;
+import com.Sumanta.caremate.storage.BlobStore;
+import com.Sumanta.caremate.storage.UploadValidator;
+import com.Sumanta.caremate.storage.UploadValidator.ValidatedUpload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Stores uploads in the configured {@link BlobStore}. Each upload is first streamed to a local
+ * temporary file. In content-addressed mode (the default) it is hashed on the way and stored once
+ * at cas/ab/cd/&lt;sha256&gt;.ext; stored_blobs counts the references so {@link #deleteFile} only
+ * removes it when the last one is released. Paths in the older random-name layout are deleted directly.
+ * Uploads pass through {@link UploadValidator} first, so the stored extension reflects the sniffed
+ * content type and an oversized body aborts the copy instead of being spooled in full.
+ */
 @Service
+@Slf4j
 public class FileStorageService {
 
-    @Value("${file.upload-dir:uploads}")
-    private String uploadDir;
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+    private static final String CAS_ROOT = "cas";
 
+    @Value("${file.storage.temp-dir:${file.upload-dir:uploads}/tmp}")
+    private String tempDir;
+
+    @Value("${file.storage.content-addressed:true}")
+    private boolean contentAddressed;
+
+    private final BlobStore blobStore;
+    private final UploadValidator uploadValidator;
+    private final AsyncTaskExecutor storageExecutor;
+    private final StoredBlobRepository storedBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Path tempDirectory;
+
+    public FileStorageService(BlobStore blobStore,
+                              UploadValidator uploadValidator,
+                              @Qualifier(AsyncConfig.STORAGE_EXECUTOR) AsyncTaskExecutor storageExecutor,
+                              StoredBlobRepository storedBlobRepository,
+                              TransactionTemplate transactionTemplate) {
+        this.blobStore = blobStore;
+        this.uploadValidator = uploadValidator;
+        this.storageExecutor = storageExecutor;
+        this.storedBlobRepository = storedBlobRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // The upload is validated and spooled to a temp file in one pass; rejection aborts the copy mid-stream
     public String storeFile(MultipartFile file, String subDirectory) {
+        Path tempFile = newTempFile();
         try {
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir, subDirectory);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            ValidatedUpload upload = uploadValidator.open(file, subDirectory);
+            String extension = upload.type().getExtension();
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = contentAddressed ? new DigestInputStream(upload.content(), digest) : upload.content()) {
+                size = write(in, tempFile);
             }
+            return contentAddressed
+                    ? storeContentAddressed(tempFile, size, HexFormat.of().formatHex(digest.digest()), extension)
+                    : storeUnique(tempFile, size, subDirectory, extension);
+        } catch (UploadRejectedException ex) {
+            throw ex;
+        } catch (IOException | RuntimeException ex) {
+            throw new RuntimeException("Failed to store file: " + file.getOriginalFilename(), ex);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
 
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = originalFilename != null ?
-                    originalFilename.substring(originalFilename.lastIndexOf(".")) : "";
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
+    // Stores the files in parallel; if any fails, the ones that succeeded are removed again
+    public List<String> storeFiles(String subDirectory, MultipartFile... files) {
+        List<CompletableFuture<String>> stores = Arrays.stream(files)
+                .map(file -> CompletableFuture.supplyAsync(() -> storeFile(file, subDirectory), storageExecutor))
+                .toList();
 
-            // Copy file to the target location
-            Path targetLocation = uploadPath.resolve(uniqueFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            CompletableFuture.allOf(stores.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            stores.stream()
+                    .filter(store -> !store.isCompletedExceptionally())
+                    .forEach(store -> deleteQuietly(store.join()));
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return stores.stream().map(CompletableFuture::join).toList();
+    }
 
-            return subDirectory + "/" + uniqueFilename;
+    public void deleteFile(String filePath) {
+        if (filePath.startsWith(CAS_ROOT + "/")) {
+            releaseBlob(filePath);
+            return;
+        }
+        try {
+            blobStore.delete(filePath);
         } catch (IOException ex) {
-            throw new RuntimeException("Failed to store file: " + file.getOriginalFilename(), ex);
+            throw new RuntimeException("Failed to delete file: " + filePath, ex);
         }
     }
 
-    public void deleteFile(String filePath) {
+    // Best-effort removal for cleanup paths, where failing would hide the original error
+    public void deleteQuietly(String filePath) {
+        if (filePath == null) {
+            return;
+        }
+        try {
+            deleteFile(filePath);
+        } catch (RuntimeException ex) {
+            log.warn("Could not delete orphaned file {}", filePath, ex);
+        }
+    }
+
+    // ==================== CONTENT-ADDRESSED STORAGE ====================
+
+    // The file is written before the reference exists and removed after the last one is gone, so the
+    // transactions only hold locks for the row updates. The temp file is kept (put consumes a copy)
+    // until the reference has committed, and the caller deletes it.
+    private String storeContentAddressed(Path tempFile, long size, String hash, String extension) throws IOException {
+        String relativePath = CAS_ROOT + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extension;
+        if (!blobStore.exists(relativePath)) {
+            putCopy(relativePath, tempFile, size);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            storedBlobRepository.lockPath(relativePath);
+            storedBlobRepository.addReference(relativePath, size);
+        });
+
+        // A release that dropped the previous last reference may have removed the file before our
+        // reference committed; releases that decide after this commit keep the file, so put it back now
+        try {
+            if (!blobStore.exists(relativePath)) {
+                blobStore.put(relativePath, tempFile, size);
+            }
+        } catch (IOException | RuntimeException ex) {
+            releaseBlob(relativePath);
+            throw ex;
+        }
+        return relativePath;
+    }
+
+    // The last reference is dropped under the path lock; the file is deleted after that commits
+    private void releaseBlob(String relativePath) {
+        Boolean lastReference = transactionTemplate.execute(status -> {
+            storedBlobRepository.lockPath(relativePath);
+            Optional<StoredBlobEntity> blob = storedBlobRepository.findForUpdate(relativePath);
+            if (blob.isPresent() && blob.get().getRefCount() > 1) {
+                blob.get().setRefCount(blob.get().getRefCount() - 1);
+                return false;
+            }
+            blob.ifPresent(storedBlobRepository::delete);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(lastReference)) {
+            return;
+        }
+        try {
+            blobStore.delete(relativePath);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    private String storeUnique(Path tempFile, long size, String subDirectory, String extension) throws IOException {
+        String relativePath = subDirectory + "/" + UUID.randomUUID() + extension;
+        blobStore.put(relativePath, tempFile, size);
+        return relativePath;
+    }
+
+    private void putCopy(String relativePath, Path source, long size) throws IOException {
+        Path copy = newTempFile();
+        try {
+            Files.copy(source, copy);
+            blobStore.put(relativePath, copy, size);
+        } finally {
+            deleteTempFile(copy);
+        }
+    }
+
+    private long write(InputStream in, Path target) throws IOException {
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+            }
+            return position;
+        }
+    }
+
+    private Path newTempFile() {
+        if (tempDirectory == null) {
+            try {
+                tempDirectory = Files.createDirectories(Paths.get(tempDir));
+            } catch (IOException ex) {
+                throw new RuntimeException("Failed to create upload temp directory: " + tempDir, ex);
+            }
+        }
+        return tempDirectory.resolve(UUID.randomUUID() + ".part");
+    }
+
+    private void deleteTempFile(Path path) {
         try {
-            Path path = Paths.get(uploadDir, filePath);
             Files.deleteIfExists(path);
         } catch (IOException ex) {
-            throw new RuntimeException("Failed to delete file: " + filePath, ex);
+            log.warn("Could not delete temporary file {}", path, ex);
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,165 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.config.AsyncConfig;
+import com.Sumanta.caremate.enums.ImageVariant;
+import com.Sumanta.caremate.exception.ImageNotFoundException;
+import com.Sumanta.caremate.repository.NurseRepository;
+import com.Sumanta.caremate.storage.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Produces resized JPEG derivatives of stored images and caches them on local disk under
+ * file.image-cache-dir. Stored paths never change content (content-addressed or random names),
+ * so a derivative is valid forever once written.
+ */
+@Service
+@Slf4j
+public class ImageService {
+
+    private final BlobStore blobStore;
+    private final NurseRepository nurseRepository;
+    private final AsyncTaskExecutor storageExecutor;
+    private final Path cacheRoot;
+
+    // Concurrent requests for the same missing derivative share one generation
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageService(BlobStore blobStore,
+                        NurseRepository nurseRepository,
+                        @Qualifier(AsyncConfig.STORAGE_EXECUTOR) AsyncTaskExecutor storageExecutor,
+                        @Value("${file.image-cache-dir:${file.upload-dir:uploads}/derivatives}") String cacheDir) {
+        this.blobStore = blobStore;
+        this.nurseRepository = nurseRepository;
+        this.storageExecutor = storageExecutor;
+        this.cacheRoot = Paths.get(cacheDir).toAbsolutePath().normalize();
+    }
+
+    // Only nurse profile pictures are served; patient reports share the store but must never be exposed here
+    public boolean isServable(String imagePath) {
+        return nurseRepository.existsByProfileImage(imagePath);
+    }
+
+    // Called after an upload commits so the first view doesn't pay for resizing
+    public void generateDerivativesAsync(String imagePath) {
+        if (imagePath == null) {
+            return;
+        }
+        for (ImageVariant variant : ImageVariant.values()) {
+            storageExecutor.execute(() -> {
+                try {
+                    getDerivative(imagePath, variant);
+                } catch (RuntimeException e) {
+                    log.warn("Could not generate {} for {}", variant, imagePath, e);
+                }
+            });
+        }
+    }
+
+    public Path getDerivative(String imagePath, ImageVariant variant) {
+        Path target = derivativePath(imagePath, variant);
+        if (Files.exists(target)) {
+            return target;
+        }
+
+        CompletableFuture<Path> generation = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(target, generation);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            generate(imagePath, variant, target);
+            generation.complete(target);
+            return target;
+        } catch (RuntimeException e) {
+            generation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(target, generation);
+        }
+    }
+
+    private void generate(String imagePath, ImageVariant variant, Path target) {
+        BufferedImage source;
+        try (InputStream in = blobStore.open(imagePath)) {
+            source = ImageIO.read(in);
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            throw new ImageNotFoundException(imagePath, e);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read image: " + imagePath, e);
+        }
+        if (source == null) {
+            throw new RuntimeException("Unsupported image format: " + imagePath);
+        }
+
+        BufferedImage resized = resize(source, variant.getMaxDimension());
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".part");
+            try {
+                if (!ImageIO.write(resized, "jpg", temp.toFile())) {
+                    throw new IOException("No JPEG writer available");
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write " + variant + " for " + imagePath, e);
+        }
+        log.debug("Generated {} derivative for {}", variant, imagePath);
+    }
+
+    // Scales the longer edge down to maxDimension (never up) and flattens onto white for JPEG
+    private BufferedImage resize(BufferedImage source, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private Path derivativePath(String imagePath, ImageVariant variant) {
+        Path path = cacheRoot.resolve(variant.pathSegment()).resolve(imagePath + ".jpg").normalize();
+        if (!path.startsWith(cacheRoot)) {
+            throw new IllegalArgumentException("Invalid image path: " + imagePath);
+        }
+        return path;
+    }
+}
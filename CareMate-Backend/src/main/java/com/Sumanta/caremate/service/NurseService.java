@@ -4,21 +4,34 @@ import com.Sumanta.caremate.dto.*;
 import com.Sumanta.caremate.entity.*;
 import com.Sumanta.caremate.enums.*;
 import com.Sumanta.caremate.repository.*;
+import com.Sumanta.caremate.repository.projection.BookingListView;
+import com.Sumanta.caremate.repository.projection.EarningsBucketAggregate;
+import com.Sumanta.caremate.repository.projection.ReviewListView;
+import com.Sumanta.caremate.security.PasswordHashingService;
+import com.Sumanta.caremate.security.UserDirectoryService;
 import com.Sumanta.caremate.util.JWTUtil;
+import com.Sumanta.caremate.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,14 +45,23 @@ public class NurseService {
     private final ReviewRepository reviewRepository;
     private final NotificationRepository notificationRepository;
     private final FileStorageService fileStorageService;
-    private final EmailService emailService;
+    private final ImageService imageService;
+    private final EmailOutboxService emailOutboxService;
     private final NotificationService notificationService;
+    private final NurseStatsService nurseStatsService;
     private final JWTUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final UserDirectoryService userDirectoryService;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingStateMachine bookingStateMachine;
+
+    private static final int MAX_EARNINGS_BUCKETS = 366;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final String OVERLAPPING_BOOKING_MESSAGE = "You already have an accepted booking overlapping these dates";
 
     // ==================== REGISTRATION & LOGIN ====================
 
-    @Transactional
+    // Images are written before the transaction opens and removed again if the insert fails
     public AuthResponse register(NurseRegistrationRequest request) {
         if (nurseRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already registered");
@@ -48,33 +70,49 @@ public class NurseService {
             throw new RuntimeException("Mobile number already registered");
         }
 
-        String profileImage1Path = fileStorageService.storeFile(request.getProfileImage1(), "nurses/profiles");
-        String profileImage2Path = fileStorageService.storeFile(request.getProfileImage2(), "nurses/profiles");
-
-        NurseEntity nurse = new NurseEntity();
-        nurse.setFullName(request.getFullName());
-        nurse.setMobileNo(request.getMobileNo());
-        nurse.setEmail(request.getEmail());
-        nurse.setPassword(passwordEncoder.encode(request.getPassword()));
-        nurse.setProfileImage1(profileImage1Path);
-        nurse.setProfileImage2(profileImage2Path);
-        nurse.setEducationalQualification(request.getEducationalQualification());
-        nurse.setYearsOfExperience(request.getYearsOfExperience());
-        nurse.setAge(request.getAge());
-        nurse.setSpecializations(request.getSpecializations());
-        nurse.setStatus(NurseStatus.AVAILABLE);
-        nurse.setRole(UserRole.NURSE);
-        nurse.setIsActive(true);
-
-        NurseEntity savedNurse = nurseRepository.save(nurse);
-        emailService.sendNurseRegistrationEmail(savedNurse.getEmail(), savedNurse.getFullName());
-        String token = jwtUtil.generateToken(savedNurse.getEmail());
+        List<String> imagePaths = fileStorageService.storeFiles("nurses/profiles",
+                request.getProfileImage1(), request.getProfileImage2());
+        String encodedPassword = passwordHashingService.encode(request.getPassword());
+
+        NurseEntity savedNurse;
+        try {
+            savedNurse = transactionTemplate.execute(status -> {
+                NurseEntity nurse = new NurseEntity();
+                nurse.setFullName(request.getFullName());
+                nurse.setMobileNo(request.getMobileNo());
+                nurse.setEmail(request.getEmail());
+                nurse.setPassword(encodedPassword);
+                nurse.setProfileImage1(imagePaths.get(0));
+                nurse.setProfileImage2(imagePaths.get(1));
+                nurse.setEducationalQualification(request.getEducationalQualification());
+                nurse.setYearsOfExperience(request.getYearsOfExperience());
+                nurse.setAge(request.getAge());
+                nurse.setSpecializations(request.getSpecializations());
+                nurse.setStatus(NurseStatus.AVAILABLE);
+                nurse.setRole(UserRole.NURSE);
+                nurse.setIsActive(true);
+
+                NurseEntity saved = nurseRepository.save(nurse);
+                userDirectoryService.register(UserRole.NURSE, saved.getId(), saved.getEmail(),
+                        saved.getPassword(), saved.getIsActive());
+                emailOutboxService.enqueue(EmailType.NURSE_REGISTRATION, saved.getEmail(),
+                        Map.of("name", saved.getFullName()));
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            imagePaths.forEach(fileStorageService::deleteQuietly);
+            throw e;
+        }
+
+        imagePaths.forEach(imageService::generateDerivativesAsync);
 
+        String token = jwtUtil.generateToken(savedNurse.getEmail(), savedNurse.getId(), UserRole.NURSE);
         log.info("Nurse registered successfully: {}", savedNurse.getEmail());
         return new AuthResponse(token, UserRole.NURSE, savedNurse.getEmail(), "Nurse registration successful. Welcome email sent!");
     }
 
-    public AuthResponse login(NurseLoginRequest request) {
+    // The BCrypt check runs on the password hashing pool; the returned future completes there
+    public CompletableFuture<AuthResponse> login(NurseLoginRequest request) {
         NurseEntity nurse = nurseRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
@@ -82,26 +120,31 @@ public class NurseService {
             throw new RuntimeException("Your account has been deactivated. Please contact admin.");
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), nurse.getPassword())) {
-            throw new RuntimeException("Invalid email or password");
-        }
+        return passwordHashingService.verify(UserRole.NURSE, nurse.getId(), nurse.getEmail(),
+                        request.getPassword(), nurse.getPassword())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new RuntimeException("Invalid email or password");
+                    }
 
-        String token = jwtUtil.generateToken(nurse.getEmail());
-        log.info("Nurse logged in successfully: {}", nurse.getEmail());
-        return new AuthResponse(token, UserRole.NURSE, nurse.getEmail(), "Login successful");
+                    String token = jwtUtil.generateToken(nurse.getEmail(), nurse.getId(), UserRole.NURSE);
+                    log.info("Nurse logged in successfully: {}", nurse.getEmail());
+                    return new AuthResponse(token, UserRole.NURSE, nurse.getEmail(), "Login successful");
+                });
     }
 
     // ==================== PROFILE MANAGEMENT ====================
 
-    public NurseDTO getProfileByEmail(String email) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
+    @Transactional(readOnly = true)
+    public NurseDTO getProfile(Long nurseId) {
+        NurseEntity nurse = nurseRepository.findById(nurseId)
                 .orElseThrow(() -> new RuntimeException("Nurse not found"));
         return convertToDTO(nurse);
     }
 
     @Transactional
-    public NurseDTO updateProfile(String email, NurseUpdateRequest request) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
+    public NurseDTO updateProfile(Long nurseId, NurseUpdateRequest request) {
+        NurseEntity nurse = nurseRepository.findById(nurseId)
                 .orElseThrow(() -> new RuntimeException("Nurse not found"));
 
         if (request.getEducationalQualification() != null) {
@@ -118,52 +161,63 @@ public class NurseService {
         }
 
         nurseRepository.save(nurse);
-        log.info("Nurse profile updated: {}", email);
+        log.info("Nurse profile updated: {}", nurseId);
         return convertToDTO(nurse);
     }
 
     @Transactional
-    public NurseDTO updateStatus(String email, NurseStatus status) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
+    public NurseDTO updateStatus(Long nurseId, NurseStatus status) {
+        // Written in place so it cannot race booking transitions that flip the same column
+        nurseRepository.updateStatus(nurseId, status);
+        NurseEntity nurse = nurseRepository.findById(nurseId)
                 .orElseThrow(() -> new RuntimeException("Nurse not found"));
 
-        nurse.setStatus(status);
-        nurseRepository.save(nurse);
-
-        log.info("Nurse status updated to {}: {}", status, email);
+        log.info("Nurse status updated to {}: {}", status, nurseId);
         return convertToDTO(nurse);
     }
 
-    @Transactional
-    public NurseDTO updateProfileImage(String email, MultipartFile image, int imageNumber) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
-
+    // The new image is stored outside the transaction; the old one is only deleted once the change commits
+    public NurseDTO updateProfileImage(Long nurseId, MultipartFile image, int imageNumber) {
         if (imageNumber != 1 && imageNumber != 2) {
             throw new RuntimeException("Invalid image number. Use 1 or 2.");
         }
 
         String newImagePath = fileStorageService.storeFile(image, "nurses/profiles");
 
-        if (imageNumber == 1) {
-            fileStorageService.deleteFile(nurse.getProfileImage1());
-            nurse.setProfileImage1(newImagePath);
-        } else {
-            fileStorageService.deleteFile(nurse.getProfileImage2());
-            nurse.setProfileImage2(newImagePath);
+        String[] replacedPath = new String[1];
+        NurseDTO updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                NurseEntity nurse = nurseRepository.findById(nurseId)
+                        .orElseThrow(() -> new RuntimeException("Nurse not found"));
+
+                if (imageNumber == 1) {
+                    replacedPath[0] = nurse.getProfileImage1();
+                    nurse.setProfileImage1(newImagePath);
+                } else {
+                    replacedPath[0] = nurse.getProfileImage2();
+                    nurse.setProfileImage2(newImagePath);
+                }
+
+                nurseRepository.save(nurse);
+                return convertToDTO(nurse);
+            });
+        } catch (RuntimeException e) {
+            fileStorageService.deleteQuietly(newImagePath);
+            throw e;
         }
 
-        nurseRepository.save(nurse);
-        log.info("Nurse profile image {} updated: {}", imageNumber, email);
-        return convertToDTO(nurse);
+        fileStorageService.deleteQuietly(replacedPath[0]);
+        imageService.generateDerivativesAsync(newImagePath);
+        log.info("Nurse profile image {} updated: {}", imageNumber, nurseId);
+        return updated;
     }
 
     // ==================== AVAILABILITY SCHEDULE ====================
 
     @Transactional
-    public AvailabilityScheduleDTO createSchedule(String email, CreateScheduleRequest request) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    public AvailabilityScheduleDTO createSchedule(Long nurseId, CreateScheduleRequest request) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
         if (scheduleRepository.existsByNurseAndDayOfWeekAndIsActive(nurse, request.getDayOfWeek(), true)) {
             throw new RuntimeException("Schedule already exists for " + request.getDayOfWeek());
@@ -181,13 +235,12 @@ public class NurseService {
         schedule.setIsActive(true);
 
         AvailabilityScheduleEntity saved = scheduleRepository.save(schedule);
-        log.info("Schedule created for nurse: {} on {}", email, request.getDayOfWeek());
+        log.info("Schedule created for nurse: {} on {}", nurseId, request.getDayOfWeek());
         return convertToScheduleDTO(saved);
     }
 
-    public List<AvailabilityScheduleDTO> getSchedules(String email) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    public List<AvailabilityScheduleDTO> getSchedules(Long nurseId) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
         return scheduleRepository.findByNurse(nurse).stream()
                 .map(this::convertToScheduleDTO)
@@ -195,30 +248,41 @@ public class NurseService {
     }
 
     @Transactional
-    public void deleteSchedule(String email, Long scheduleId) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    public void deleteSchedule(Long nurseId, Long scheduleId) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
         AvailabilityScheduleEntity schedule = scheduleRepository.findByIdAndNurse(scheduleId, nurse)
                 .orElseThrow(() -> new RuntimeException("Schedule not found"));
 
         scheduleRepository.delete(schedule);
-        log.info("Schedule deleted for nurse: {}", email);
+        log.info("Schedule deleted for nurse: {}", nurseId);
     }
 
     // ==================== BOOKING MANAGEMENT ====================
 
-    public PageResponse<BookingDTO> getAllBookings(String email, Pageable pageable) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public PageResponse<BookingDTO> getAllBookings(Long nurseId, Pageable pageable) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
-        Page<BookingEntity> bookingPage = bookingRepository.findByNurse(nurse, pageable);
+        Page<BookingListView> bookingPage = bookingRepository.findListViewsByNurse(nurse, pageable);
         return convertToBookingPageResponse(bookingPage);
     }
 
-    public BookingDTO getBookingById(String email, Long bookingId) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BookingDTO> getBookingsByCursor(Long nurseId, BookingStatus status, String cursor, int size) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
+
+        PageCursor position = PageCursor.decode(cursor);
+        Limit limit = Limit.of(checkCursorPageSize(size) + 1);
+        List<BookingListView> rows = status == null
+                ? bookingRepository.findListViewsByNurseBefore(nurse, position.createdAt(), position.id(), limit)
+                : bookingRepository.findListViewsByNurseAndStatusBefore(nurse, status, position.createdAt(), position.id(), limit);
+
+        return toCursorPage(rows, size, BookingListView::createdAt, BookingListView::id, this::convertListViewToBookingDTO);
+    }
+
+    public BookingDTO getBookingById(Long nurseId, Long bookingId) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
         BookingEntity booking = bookingRepository.findByIdAndNurse(bookingId, nurse)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -226,147 +290,120 @@ public class NurseService {
         return convertToBookingDTO(booking);
     }
 
-    public PageResponse<BookingDTO> getActiveBookings(String email, Pageable pageable) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public PageResponse<BookingDTO> getActiveBookings(Long nurseId, Pageable pageable) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
-        Page<BookingEntity> bookingPage = bookingRepository.findByNurseAndStatus(nurse, BookingStatus.IN_PROGRESS, pageable);
+        Page<BookingListView> bookingPage = bookingRepository.findListViewsByNurseAndStatus(nurse, BookingStatus.IN_PROGRESS, pageable);
         return convertToBookingPageResponse(bookingPage);
     }
 
-    public PageResponse<BookingDTO> getBookingHistory(String email, Pageable pageable) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public PageResponse<BookingDTO> getBookingHistory(Long nurseId, Pageable pageable) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
-        Page<BookingEntity> bookingPage = bookingRepository.findByNurseAndStatus(nurse, BookingStatus.COMPLETED, pageable);
+        Page<BookingListView> bookingPage = bookingRepository.findListViewsByNurseAndStatus(nurse, BookingStatus.COMPLETED, pageable);
         return convertToBookingPageResponse(bookingPage);
     }
 
-    @Transactional
-    public BookingDTO acceptBooking(String email, Long bookingId, BookingActionRequest request) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    // Transitions go through BookingStateMachine; notifications, emails and stats follow from its events
+    public BookingDTO acceptBooking(Long nurseId, Long bookingId, BookingActionRequest request) {
+        return bookingStateMachine.inTransaction(() -> {
+            BookingEntity booking = findNurseBooking(nurseId, bookingId);
+            bookingStateMachine.requireTransition(booking.getStatus(), BookingStatus.ACCEPTED);
 
-        BookingEntity booking = bookingRepository.findByIdAndNurse(bookingId, nurse)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
+            if (bookingRepository.hasOverlappingBookings(nurseId, booking.getStartDate(), booking.getEndDate())) {
+                throw new RuntimeException(OVERLAPPING_BOOKING_MESSAGE);
+            }
 
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            throw new RuntimeException("Only pending bookings can be accepted");
-        }
+            // Before the transition: the bulk update clears the persistence context, which would
+            // detach the booking the transition returns. Rolls back with it if the accept fails.
+            nurseRepository.updateStatus(nurseId, NurseStatus.ON_DUTY);
 
-        booking.setStatus(BookingStatus.ACCEPTED);
-        booking.setAcceptedAt(LocalDateTime.now());
-        if (request.getNotes() != null) {
-            booking.setNurseNotes(request.getNotes());
-        }
+            // A concurrent accept that slipped past the probe fails here on the exclusion constraint
+            BookingEntity saved;
+            try {
+                saved = bookingStateMachine.transition(booking, BookingStatus.ACCEPTED, UserRole.NURSE, nurseId,
+                        request.getNotes(),
+                        () -> bookingRepository.markAccepted(bookingId, nurseId, LocalDateTime.now(), request.getNotes()));
+            } catch (DataIntegrityViolationException e) {
+                throw new RuntimeException(OVERLAPPING_BOOKING_MESSAGE, e);
+            }
 
-        nurse.setStatus(NurseStatus.ON_DUTY);
-        nurseRepository.save(nurse);
-
-        BookingEntity saved = bookingRepository.save(booking);
-
-        notificationService.createNotification(
-                booking.getPatient().getId(),
-                UserRole.PATIENT,
-                NotificationType.BOOKING_ACCEPTED,
-                "Booking Accepted",
-                "Your booking has been accepted by " + nurse.getFullName(),
-                bookingId
-        );
-
-        log.info("Booking {} accepted by nurse: {}", bookingId, email);
-        return convertToBookingDTO(saved);
+            log.info("Booking {} accepted by nurse: {}", bookingId, nurseId);
+            return convertToBookingDTO(saved);
+        });
     }
 
-    @Transactional
-    public BookingDTO rejectBooking(String email, Long bookingId, BookingActionRequest request) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
-
-        BookingEntity booking = bookingRepository.findByIdAndNurse(bookingId, nurse)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
+    public BookingDTO rejectBooking(Long nurseId, Long bookingId, BookingActionRequest request) {
+        return bookingStateMachine.inTransaction(() -> {
+            BookingEntity booking = findNurseBooking(nurseId, bookingId);
+            BookingEntity saved = bookingStateMachine.transition(booking, BookingStatus.REJECTED, UserRole.NURSE, nurseId,
+                    request.getReason(),
+                    () -> bookingRepository.markRejected(bookingId, nurseId, LocalDateTime.now(), request.getReason()));
 
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            throw new RuntimeException("Only pending bookings can be rejected");
-        }
+            log.info("Booking {} rejected by nurse: {}", bookingId, nurseId);
+            return convertToBookingDTO(saved);
+        });
+    }
 
-        booking.setStatus(BookingStatus.REJECTED);
-        booking.setRejectedAt(LocalDateTime.now());
-        booking.setRejectionReason(request.getReason());
+    public BookingDTO startBooking(Long nurseId, Long bookingId) {
+        return bookingStateMachine.inTransaction(() -> {
+            BookingEntity booking = findNurseBooking(nurseId, bookingId);
+            BookingEntity saved = bookingStateMachine.transition(booking, BookingStatus.IN_PROGRESS, UserRole.NURSE, nurseId,
+                    null,
+                    () -> bookingRepository.markStatus(bookingId, BookingStatus.ACCEPTED, BookingStatus.IN_PROGRESS, LocalDateTime.now()));
 
-        BookingEntity saved = bookingRepository.save(booking);
+            log.info("Booking {} started by nurse: {}", bookingId, nurseId);
+            return convertToBookingDTO(saved);
+        });
+    }
 
-        notificationService.createNotification(
-                booking.getPatient().getId(),
-                UserRole.PATIENT,
-                NotificationType.BOOKING_REJECTED,
-                "Booking Rejected",
-                "Your booking has been rejected by " + nurse.getFullName(),
-                bookingId
-        );
+    public BookingDTO completeBooking(Long nurseId, Long bookingId) {
+        return bookingStateMachine.inTransaction(() -> {
+            BookingEntity booking = findNurseBooking(nurseId, bookingId);
+            BookingStatus previousStatus = booking.getStatus();
+            bookingStateMachine.transition(booking, BookingStatus.COMPLETED, UserRole.NURSE, nurseId,
+                    null,
+                    () -> bookingRepository.markCompleted(bookingId, nurseId, previousStatus, LocalDateTime.now()));
+            // Stays ON_DUTY while another accepted or in-progress booking remains. Has to follow the
+            // transition and clears the persistence context, so the booking is read again below.
+            nurseRepository.releaseFromDuty(nurseId, NurseStatus.ON_DUTY, NurseStatus.AVAILABLE);
 
-        log.info("Booking {} rejected by nurse: {}", bookingId, email);
-        return convertToBookingDTO(saved);
+            log.info("Booking {} completed by nurse: {}", bookingId, nurseId);
+            return convertToBookingDTO(findNurseBooking(nurseId, bookingId));
+        });
     }
 
     @Transactional
-    public BookingDTO completeBooking(String email, Long bookingId) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    public BookingDTO submitCareReport(Long nurseId, Long bookingId, CareReportRequest request) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
         BookingEntity booking = bookingRepository.findByIdAndNurse(bookingId, nurse)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        if (booking.getStatus() != BookingStatus.IN_PROGRESS && booking.getStatus() != BookingStatus.ACCEPTED) {
-            throw new RuntimeException("Only active bookings can be completed");
-        }
-
-        booking.setStatus(BookingStatus.COMPLETED);
-        booking.setCompletedAt(LocalDateTime.now());
-
-        nurse.setStatus(NurseStatus.AVAILABLE);
-        nurseRepository.save(nurse);
-
+        booking.setCareReport(request.getCareReport());
         BookingEntity saved = bookingRepository.save(booking);
 
-        notificationService.createNotification(
-                booking.getPatient().getId(),
-                UserRole.PATIENT,
-                NotificationType.BOOKING_COMPLETED,
-                "Booking Completed",
-                "Your booking with " + nurse.getFullName() + " has been completed",
-                bookingId
-        );
-
-        log.info("Booking {} completed by nurse: {}", bookingId, email);
+        log.info("Care report submitted for booking {} by nurse: {}", bookingId, nurseId);
         return convertToBookingDTO(saved);
     }
 
-    @Transactional
-    public BookingDTO submitCareReport(String email, Long bookingId, CareReportRequest request) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
-
-        BookingEntity booking = bookingRepository.findByIdAndNurse(bookingId, nurse)
+    private BookingEntity findNurseBooking(Long nurseId, Long bookingId) {
+        return bookingRepository.findByIdAndNurse(bookingId, nurseRepository.getReferenceById(nurseId))
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
-
-        booking.setCareReport(request.getCareReport());
-        BookingEntity saved = bookingRepository.save(booking);
-
-        log.info("Care report submitted for booking {} by nurse: {}", bookingId, email);
-        return convertToBookingDTO(saved);
     }
 
     // ==================== REVIEWS & RATINGS ====================
 
-    public PageResponse<ReviewDTO> getReviews(String email, Pageable pageable) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public PageResponse<ReviewDTO> getReviews(Long nurseId, Pageable pageable) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
-        Page<ReviewEntity> reviewPage = reviewRepository.findByNurse(nurse, pageable);
+        Page<ReviewListView> reviewPage = reviewRepository.findListViewsByNurse(nurse, pageable);
 
         List<ReviewDTO> reviews = reviewPage.getContent().stream()
-                .map(this::convertToReviewDTO)
+                .map(this::convertListViewToReviewDTO)
                 .collect(Collectors.toList());
 
         return new PageResponse<>(
@@ -379,29 +416,38 @@ public class NurseService {
         );
     }
 
-    public ReviewStatsDTO getReviewStats(String email) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ReviewDTO> getReviewsByCursor(Long nurseId, String cursor, int size) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
+
+        PageCursor position = PageCursor.decode(cursor);
+        List<ReviewListView> rows = reviewRepository.findListViewsByNurseBefore(
+                nurse, position.createdAt(), position.id(), Limit.of(checkCursorPageSize(size) + 1));
+
+        return toCursorPage(rows, size, ReviewListView::createdAt, ReviewListView::id, this::convertListViewToReviewDTO);
+    }
 
-        Double avgRating = reviewRepository.calculateAverageRating(nurse);
-        Long totalReviews = reviewRepository.countByNurse(nurse);
+    @Transactional(readOnly = true)
+    public ReviewStatsDTO getReviewStats(Long nurseId) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
+
+        NurseStatsEntity nurseStats = nurseStatsService.getStats(nurse);
 
         ReviewStatsDTO stats = new ReviewStatsDTO();
-        stats.setAverageRating(avgRating != null ? avgRating : 0.0);
-        stats.setTotalReviews(totalReviews.intValue());
-        stats.setFiveStarCount(reviewRepository.countByNurseAndRating(nurse, 5).intValue());
-        stats.setFourStarCount(reviewRepository.countByNurseAndRating(nurse, 4).intValue());
-        stats.setThreeStarCount(reviewRepository.countByNurseAndRating(nurse, 3).intValue());
-        stats.setTwoStarCount(reviewRepository.countByNurseAndRating(nurse, 2).intValue());
-        stats.setOneStarCount(reviewRepository.countByNurseAndRating(nurse, 1).intValue());
+        stats.setAverageRating(nurseStats.getAverageRating());
+        stats.setTotalReviews(nurseStats.getReviewCount().intValue());
+        stats.setFiveStarCount(nurseStats.getFiveStarCount().intValue());
+        stats.setFourStarCount(nurseStats.getFourStarCount().intValue());
+        stats.setThreeStarCount(nurseStats.getThreeStarCount().intValue());
+        stats.setTwoStarCount(nurseStats.getTwoStarCount().intValue());
+        stats.setOneStarCount(nurseStats.getOneStarCount().intValue());
 
         return stats;
     }
 
     @Transactional
-    public ReviewDTO replyToReview(String email, Long reviewId, ReviewReplyRequest request) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    public ReviewDTO replyToReview(Long nurseId, Long reviewId, ReviewReplyRequest request) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
         ReviewEntity review = reviewRepository.findByIdAndNurse(reviewId, nurse)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
@@ -410,29 +456,28 @@ public class NurseService {
         review.setRepliedAt(LocalDateTime.now());
 
         ReviewEntity saved = reviewRepository.save(review);
-        log.info("Nurse replied to review {}: {}", reviewId, email);
+        log.info("Nurse replied to review {}: {}", reviewId, nurseId);
         return convertToReviewDTO(saved);
     }
 
     // ==================== DASHBOARD & ANALYTICS ====================
 
-    public NurseDashboardDTO getDashboard(String email) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public NurseDashboardDTO getDashboard(Long nurseId) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
+
+        NurseStatsEntity stats = nurseStatsService.getStats(nurse);
+        NurseMonthlyEarningsEntity currentMonth = nurseStatsService.getMonthlyEarnings(nurse.getId(), LocalDate.now());
 
         NurseDashboardDTO dashboard = new NurseDashboardDTO();
-        dashboard.setTotalBookings(bookingRepository.countByNurse(nurse));
-        dashboard.setActiveBookings(bookingRepository.countByNurseAndStatus(nurse, BookingStatus.IN_PROGRESS));
-        dashboard.setCompletedBookings(bookingRepository.countByNurseAndStatus(nurse, BookingStatus.COMPLETED));
-        dashboard.setPendingBookings(bookingRepository.countByNurseAndStatus(nurse, BookingStatus.PENDING));
-        dashboard.setTotalEarnings(bookingRepository.calculateTotalEarnings(nurse));
-
-        LocalDateTime firstDayOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-        dashboard.setMonthlyEarnings(bookingRepository.calculateEarningsSince(nurse, firstDayOfMonth));
-
-        Double avgRating = reviewRepository.calculateAverageRating(nurse);
-        dashboard.setAverageRating(avgRating != null ? avgRating : 0.0);
-        dashboard.setTotalReviews(reviewRepository.countByNurse(nurse).intValue());
+        dashboard.setTotalBookings(stats.getTotalBookings());
+        dashboard.setActiveBookings(stats.getInProgressCount());
+        dashboard.setCompletedBookings(stats.getCompletedCount());
+        dashboard.setPendingBookings(stats.getPendingCount());
+        dashboard.setTotalEarnings(stats.getTotalEarnings());
+        dashboard.setMonthlyEarnings(currentMonth.getEarnings());
+        dashboard.setAverageRating(stats.getAverageRating());
+        dashboard.setTotalReviews(stats.getReviewCount().intValue());
         dashboard.setUnreadNotifications(notificationRepository.countByUserIdAndUserRoleAndIsRead(nurse.getId(), UserRole.NURSE, false));
 
         return dashboard;
@@ -440,27 +485,27 @@ public class NurseService {
 
     // ==================== EARNINGS & PAYMENTS ====================
 
-    public EarningsDTO getTotalEarnings(String email) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public EarningsDTO getTotalEarnings(Long nurseId) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
         LocalDateTime startOfWeek = now.minusDays(7);
         LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
 
+        NurseStatsEntity stats = nurseStatsService.getStats(nurse);
+        NurseMonthlyEarningsEntity currentMonth = nurseStatsService.getMonthlyEarnings(nurse.getId(), startOfMonth.toLocalDate());
+
         EarningsDTO earnings = new EarningsDTO();
-        earnings.setTotalEarnings(bookingRepository.calculateTotalEarnings(nurse));
-        earnings.setMonthlyEarnings(bookingRepository.calculateEarningsSince(nurse, startOfMonth));
+        earnings.setTotalEarnings(stats.getTotalEarnings());
+        earnings.setMonthlyEarnings(currentMonth.getEarnings());
         earnings.setWeeklyEarnings(bookingRepository.calculateEarningsSince(nurse, startOfWeek));
         earnings.setDailyEarnings(bookingRepository.calculateEarningsSince(nurse, startOfDay));
 
-        Long totalCompleted = bookingRepository.countByNurseAndStatus(nurse, BookingStatus.COMPLETED);
+        Long totalCompleted = stats.getCompletedCount();
         earnings.setTotalCompletedBookings(totalCompleted.intValue());
-
-        Long monthlyCompleted = bookingRepository.countByNurseAndStatusAndCompletedAtAfter(
-                nurse, BookingStatus.COMPLETED, startOfMonth);
-        earnings.setMonthlyCompletedBookings(monthlyCompleted.intValue());
+        earnings.setMonthlyCompletedBookings(currentMonth.getCompletedCount().intValue());
 
         if (totalCompleted > 0) {
             BigDecimal avgValue = earnings.getTotalEarnings().divide(
@@ -473,51 +518,34 @@ public class NurseService {
         return earnings;
     }
 
-    public List<MonthlyEarningsDTO> getMonthlyEarnings(String email) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
-
-        List<MonthlyEarningsDTO> monthlyEarnings = new java.util.ArrayList<>();
-        LocalDate currentDate = LocalDate.now();
-
-        for (int i = 11; i >= 0; i--) {
-            LocalDate monthDate = currentDate.minusMonths(i);
-            LocalDateTime startOfMonth = monthDate.withDayOfMonth(1).atStartOfDay();
-            LocalDateTime endOfMonth = monthDate.withDayOfMonth(
-                    monthDate.lengthOfMonth()).atTime(23, 59, 59);
-
-            BigDecimal earnings = bookingRepository.calculateEarningsInRange(
-                    nurse, startOfMonth, endOfMonth);
-            Long bookingsCount = bookingRepository.countByNurseAndStatusAndCompletedAtBetween(
-                    nurse, BookingStatus.COMPLETED, startOfMonth, endOfMonth);
+    public List<EarningsBucketDTO> getEarningsSeries(Long nurseId, EarningsGranularity granularity, int buckets) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
-            MonthlyEarningsDTO dto = new MonthlyEarningsDTO();
-            dto.setMonth(monthDate.getMonth().toString() + " " + monthDate.getYear());
-            dto.setYear(monthDate.getYear());
-            dto.setMonthNumber(monthDate.getMonthValue());
-            dto.setEarnings(earnings != null ? earnings : BigDecimal.ZERO);
-            dto.setBookingsCompleted(bookingsCount.intValue());
-
-            monthlyEarnings.add(dto);
+        if (buckets < 1 || buckets > MAX_EARNINGS_BUCKETS) {
+            throw new RuntimeException("Bucket count must be between 1 and " + MAX_EARNINGS_BUCKETS);
         }
-
-        return monthlyEarnings;
+        return loadEarningsSeries(nurse, granularity, buckets);
     }
 
-    public EarningsBreakdownDTO getEarningsBreakdown(String email) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    public List<MonthlyEarningsDTO> getMonthlyEarnings(Long nurseId) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
 
-        List<MonthlyEarningsDTO> monthlyBreakdown = getMonthlyEarnings(email);
+        return toMonthlyEarnings(loadEarningsSeries(nurse, EarningsGranularity.MONTH, 12));
+    }
 
-        BigDecimal totalEarnings = bookingRepository.calculateTotalEarnings(nurse);
+    @Transactional(readOnly = true)
+    public EarningsBreakdownDTO getEarningsBreakdown(Long nurseId) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
+
+        List<MonthlyEarningsDTO> monthlyBreakdown = toMonthlyEarnings(
+                loadEarningsSeries(nurse, EarningsGranularity.MONTH, 12));
 
         MonthlyEarningsDTO highest = monthlyBreakdown.stream()
                 .max((a, b) -> a.getEarnings().compareTo(b.getEarnings()))
                 .orElse(new MonthlyEarningsDTO());
 
         EarningsBreakdownDTO breakdown = new EarningsBreakdownDTO();
-        breakdown.setTotalEarnings(totalEarnings);
+        breakdown.setTotalEarnings(nurseStatsService.getStats(nurse).getTotalEarnings());
         breakdown.setMonthlyBreakdown(monthlyBreakdown);
         breakdown.setHighestMonthEarnings(highest.getEarnings());
         breakdown.setHighestEarningMonth(highest.getMonth());
@@ -527,18 +555,20 @@ public class NurseService {
 
     // ==================== BOOKING STATISTICS ====================
 
-    public BookingStatsDTO getBookingStats(String email) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public BookingStatsDTO getBookingStats(Long nurseId) {
+        NurseEntity nurse = nurseRepository.getReferenceById(nurseId);
+
+        NurseStatsEntity nurseStats = nurseStatsService.getStats(nurse);
 
         BookingStatsDTO stats = new BookingStatsDTO();
-        stats.setTotalBookings(bookingRepository.countByNurse(nurse));
-        stats.setPendingBookings(bookingRepository.countByNurseAndStatus(nurse, BookingStatus.PENDING));
-        stats.setAcceptedBookings(bookingRepository.countByNurseAndStatus(nurse, BookingStatus.ACCEPTED));
-        stats.setRejectedBookings(bookingRepository.countByNurseAndStatus(nurse, BookingStatus.REJECTED));
-        stats.setCompletedBookings(bookingRepository.countByNurseAndStatus(nurse, BookingStatus.COMPLETED));
-        stats.setCancelledBookings(bookingRepository.countByNurseAndStatus(nurse, BookingStatus.CANCELLED));
-        stats.setActiveBookings(bookingRepository.countByNurseAndStatus(nurse, BookingStatus.IN_PROGRESS));
+        stats.setTotalBookings(nurseStats.getTotalBookings());
+        stats.setPendingBookings(nurseStats.getPendingCount());
+        stats.setAcceptedBookings(nurseStats.getAcceptedCount());
+        stats.setRejectedBookings(nurseStats.getRejectedCount());
+        stats.setCompletedBookings(nurseStats.getCompletedCount());
+        stats.setCancelledBookings(nurseStats.getCancelledCount());
+        stats.setActiveBookings(nurseStats.getInProgressCount());
 
         // Calculate acceptance rate
         Long totalRequests = stats.getAcceptedBookings() + stats.getRejectedBookings();
@@ -561,12 +591,9 @@ public class NurseService {
 
     // ==================== NOTIFICATIONS ====================
 
-    public PageResponse<NotificationDTO> getNotifications(String email, Pageable pageable) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
-
+    public PageResponse<NotificationDTO> getNotifications(Long nurseId, Pageable pageable) {
         Page<NotificationEntity> notificationPage = notificationRepository
-                .findByUserIdAndUserRoleOrderByCreatedAtDesc(nurse.getId(), UserRole.NURSE, pageable);
+                .findByUserIdAndUserRoleOrderByCreatedAtDesc(nurseId, UserRole.NURSE, pageable);
 
         List<NotificationDTO> notifications = notificationPage.getContent().stream()
                 .map(this::convertToNotificationDTO)
@@ -582,13 +609,23 @@ public class NurseService {
         );
     }
 
-    @Transactional
-    public void markNotificationAsRead(String email, Long notificationId) {
-        NurseEntity nurse = nurseRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Nurse not found"));
+    @Transactional(readOnly = true)
+    public CursorPageResponse<NotificationDTO> getNotificationsByCursor(Long nurseId, boolean unreadOnly, String cursor, int size) {
+        PageCursor position = PageCursor.decode(cursor);
+        Limit limit = Limit.of(checkCursorPageSize(size) + 1);
+        List<NotificationEntity> rows = unreadOnly
+                ? notificationRepository.findByUserIdAndUserRoleAndIsReadBefore(
+                        nurseId, UserRole.NURSE, false, position.createdAt(), position.id(), limit)
+                : notificationRepository.findByUserIdAndUserRoleBefore(
+                        nurseId, UserRole.NURSE, position.createdAt(), position.id(), limit);
 
+        return toCursorPage(rows, size, NotificationEntity::getCreatedAt, NotificationEntity::getId, this::convertToNotificationDTO);
+    }
+
+    @Transactional
+    public void markNotificationAsRead(Long nurseId, Long notificationId) {
         NotificationEntity notification = notificationRepository
-                .findByIdAndUserIdAndUserRole(notificationId, nurse.getId(), UserRole.NURSE)
+                .findByIdAndUserIdAndUserRole(notificationId, nurseId, UserRole.NURSE)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
         notification.setIsRead(true);
@@ -614,13 +651,85 @@ public class NurseService {
         dto.setIsActive(nurse.getIsActive());
         dto.setCreatedAt(nurse.getCreatedAt());
 
-        Double avgRating = reviewRepository.calculateAverageRating(nurse);
-        dto.setRating(avgRating != null ? avgRating : 0.0);
-        dto.setTotalReviews(reviewRepository.countByNurse(nurse).intValue());
+        NurseStatsEntity stats = nurseStatsService.getStats(nurse);
+        dto.setRating(stats.getAverageRating());
+        dto.setTotalReviews(stats.getReviewCount().intValue());
 
         return dto;
     }
 
+    // Single grouped query for the whole range; empty buckets are zero-filled in memory
+    private List<EarningsBucketDTO> loadEarningsSeries(NurseEntity nurse, EarningsGranularity granularity, int buckets) {
+        LocalDate currentBucket = granularity.truncate(LocalDate.now());
+        LocalDate from = granularity.plus(currentBucket, -(buckets - 1));
+        LocalDate to = granularity.plus(currentBucket, 1);
+
+        Map<LocalDate, EarningsBucketAggregate> rows = new HashMap<>();
+        for (EarningsBucketAggregate row : bookingRepository.aggregateEarningsByPeriod(
+                nurse.getId(), granularity.getTruncUnit(), from.atStartOfDay(), to.atStartOfDay())) {
+            rows.put(row.getPeriodStart().toLocalDate(), row);
+        }
+
+        List<EarningsBucketDTO> series = new ArrayList<>(buckets);
+        for (LocalDate start = from; start.isBefore(to); start = granularity.plus(start, 1)) {
+            EarningsBucketAggregate row = rows.get(start);
+            series.add(new EarningsBucketDTO(
+                    granularity,
+                    start,
+                    granularity.plus(start, 1),
+                    bucketLabel(granularity, start),
+                    row != null && row.getEarnings() != null ? row.getEarnings() : BigDecimal.ZERO,
+                    row != null ? row.getCompletedBookings().intValue() : 0
+            ));
+        }
+        return series;
+    }
+
+    private String bucketLabel(EarningsGranularity granularity, LocalDate start) {
+        return switch (granularity) {
+            case DAY -> start.toString();
+            case WEEK -> "Week of " + start;
+            case MONTH -> start.getMonth().toString() + " " + start.getYear();
+        };
+    }
+
+    private List<MonthlyEarningsDTO> toMonthlyEarnings(List<EarningsBucketDTO> series) {
+        return series.stream()
+                .map(bucket -> new MonthlyEarningsDTO(
+                        bucket.getLabel(),
+                        bucket.getPeriodStart().getYear(),
+                        bucket.getPeriodStart().getMonthValue(),
+                        bucket.getEarnings(),
+                        bucket.getBookingsCompleted()
+                ))
+                .collect(Collectors.toList());
+    }
+
+    private int checkCursorPageSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    // Rows were fetched with size + 1; the extra row only signals that another page exists
+    private <T, R> CursorPageResponse<R> toCursorPage(List<T> rows, int size,
+                                                      Function<T, LocalDateTime> createdAt,
+                                                      Function<T, Long> id,
+                                                      Function<T, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<T> page = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            T lastRow = page.get(page.size() - 1);
+            nextCursor = new PageCursor(createdAt.apply(lastRow), id.apply(lastRow)).encode();
+        }
+
+        List<R> content = page.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPageResponse<>(content, size, nextCursor, !hasNext);
+    }
+
     private AvailabilityScheduleDTO convertToScheduleDTO(AvailabilityScheduleEntity schedule) {
         return new AvailabilityScheduleDTO(
                 schedule.getId(),
@@ -660,9 +769,34 @@ public class NurseService {
         return dto;
     }
 
-    private PageResponse<BookingDTO> convertToBookingPageResponse(Page<BookingEntity> bookingPage) {
+    // List rows carry no notes or care report; those are only returned by the booking detail endpoint
+    private BookingDTO convertListViewToBookingDTO(BookingListView view) {
+        BookingDTO dto = new BookingDTO();
+        dto.setId(view.id());
+        dto.setPatientId(view.patientId());
+        dto.setPatientName(view.patientName());
+        dto.setPatientEmail(view.patientEmail());
+        dto.setPatientMobile(view.patientMobile());
+        dto.setNurseId(view.nurseId());
+        dto.setNurseName(view.nurseName());
+        dto.setNurseEmail(view.nurseEmail());
+        dto.setNurseMobile(view.nurseMobile());
+        dto.setStartDate(view.startDate());
+        dto.setEndDate(view.endDate());
+        dto.setTotalAmount(view.totalAmount());
+        dto.setBaseCharge(view.baseCharge());
+        dto.setSubscriptionCharge(view.subscriptionCharge());
+        dto.setStatus(view.status());
+        dto.setAcceptedAt(view.acceptedAt());
+        dto.setRejectedAt(view.rejectedAt());
+        dto.setCompletedAt(view.completedAt());
+        dto.setCreatedAt(view.createdAt());
+        return dto;
+    }
+
+    private PageResponse<BookingDTO> convertToBookingPageResponse(Page<BookingListView> bookingPage) {
         List<BookingDTO> bookings = bookingPage.getContent().stream()
-                .map(this::convertToBookingDTO)
+                .map(this::convertListViewToBookingDTO)
                 .collect(Collectors.toList());
 
         return new PageResponse<>(
@@ -691,6 +825,22 @@ public class NurseService {
         return dto;
     }
 
+    private ReviewDTO convertListViewToReviewDTO(ReviewListView view) {
+        return new ReviewDTO(
+                view.id(),
+                view.bookingId(),
+                view.patientId(),
+                view.patientName(),
+                view.nurseId(),
+                view.nurseName(),
+                view.rating(),
+                view.comment(),
+                view.nurseReply(),
+                view.repliedAt(),
+                view.createdAt()
+        );
+    }
+
     private NotificationDTO convertToNotificationDTO(NotificationEntity notification) {
         return new NotificationDTO(
                 notification.getId(),
@@ -0,0 +1,52 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.repository.NurseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Periodically recomputes every nurse's stats rows to repair drift in the incremental read model
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NurseStatsReconciliationJob {
+
+    private final NurseRepository nurseRepository;
+    private final NurseStatsService nurseStatsService;
+
+    @Value("${app.stats.reconcile.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.stats.reconcile.cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        log.info("Nurse stats reconciliation started");
+        int rebuilt = 0;
+        int failed = 0;
+
+        Pageable pageable = PageRequest.of(0, batchSize, Sort.by("id"));
+        Page<NurseEntity> page;
+        do {
+            page = nurseRepository.findAll(pageable);
+            for (NurseEntity nurse : page.getContent()) {
+                try {
+                    // Each nurse is rebuilt in its own transaction so one failure does not abort the run
+                    nurseStatsService.rebuild(nurse);
+                    rebuilt++;
+                } catch (Exception e) {
+                    failed++;
+                    log.error("Nurse stats reconciliation failed for nurse {}", nurse.getId(), e);
+                }
+            }
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+
+        log.info("Nurse stats reconciliation finished: {} rebuilt, {} failed", rebuilt, failed);
+    }
+}
@@ -0,0 +1,134 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.entity.NurseMonthlyEarningsEntity;
+import com.Sumanta.caremate.entity.NurseStatsEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.repository.BookingRepository;
+import com.Sumanta.caremate.repository.NurseMonthlyEarningsRepository;
+import com.Sumanta.caremate.repository.NurseStatsRepository;
+import com.Sumanta.caremate.repository.ReviewRepository;
+import com.Sumanta.caremate.repository.projection.MonthlyEarningsAggregate;
+import com.Sumanta.caremate.repository.projection.NurseBookingAggregate;
+import com.Sumanta.caremate.repository.projection.RatingHistogramRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Reads the nurse_stats and nurse_monthly_earnings read models. The rows are maintained by database
+ * triggers (V11 and V12 migrations): created with the nurse and adjusted by every booking insert,
+ * booking status change and review insert, in the writing transaction.
+ * {@link #rebuild(NurseEntity)} recomputes a nurse's rows from bookings and reviews.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NurseStatsService {
+
+    private final NurseStatsRepository statsRepository;
+    private final NurseMonthlyEarningsRepository monthlyEarningsRepository;
+    private final BookingRepository bookingRepository;
+    private final ReviewRepository reviewRepository;
+
+    // ==================== READ PATH ====================
+
+    @Transactional(readOnly = true)
+    public NurseStatsEntity getStats(NurseEntity nurse) {
+        return statsRepository.findById(nurse.getId())
+                .orElseGet(() -> {
+                    // Every nurse gets a row on insert; count from source tables rather than write here
+                    log.warn("Nurse {} has no stats row, counting from source tables", nurse.getId());
+                    return countFromSource(new NurseStatsEntity(nurse.getId()), nurse);
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public NurseMonthlyEarningsEntity getMonthlyEarnings(Long nurseId, LocalDate month) {
+        return monthlyEarningsRepository.findByNurseIdAndYearAndMonth(nurseId, month.getYear(), month.getMonthValue())
+                .orElseGet(() -> new NurseMonthlyEarningsEntity(nurseId, month.getYear(), month.getMonthValue()));
+    }
+
+    // ==================== REBUILD / RECONCILIATION ====================
+
+    @Transactional
+    public NurseStatsEntity rebuild(NurseEntity nurse) {
+        // Create-or-keep (for rows removed by hand), then lock, so trigger updates from concurrent
+        // writers either land before the recount or wait for it
+        boolean created = statsRepository.insertIfAbsent(nurse.getId()) == 1;
+        NurseStatsEntity stats = statsRepository.findByIdForUpdate(nurse.getId())
+                .orElseThrow(() -> new RuntimeException("Nurse stats not found"));
+        NurseStatsEntity before = copyCounters(stats);
+
+        countFromSource(stats, nurse);
+        stats.setLastReconciledAt(LocalDateTime.now());
+
+        monthlyEarningsRepository.deleteByNurseId(nurse.getId());
+        for (MonthlyEarningsAggregate row : bookingRepository.aggregateMonthlyEarnings(nurse)) {
+            NurseMonthlyEarningsEntity month = new NurseMonthlyEarningsEntity(nurse.getId(), row.getYear(), row.getMonth());
+            month.setEarnings(row.getEarnings());
+            month.setCompletedCount(row.getCompletedBookings());
+            monthlyEarningsRepository.save(month);
+        }
+
+        if (!created && !sameCounters(before, stats)) {
+            log.warn("Nurse stats drift corrected for nurse {}: {} -> {}", nurse.getId(), before, stats);
+        }
+        return statsRepository.save(stats);
+    }
+
+    private NurseStatsEntity countFromSource(NurseStatsEntity stats, NurseEntity nurse) {
+        NurseBookingAggregate bookings = bookingRepository.aggregateByNurse(nurse, LocalDateTime.now());
+        stats.setPendingCount(bookings.getPendingBookings());
+        stats.setAcceptedCount(bookings.getAcceptedBookings());
+        stats.setRejectedCount(bookings.getRejectedBookings());
+        stats.setInProgressCount(bookings.getInProgressBookings());
+        stats.setCompletedCount(bookings.getCompletedBookings());
+        stats.setCancelledCount(bookings.getCancelledBookings());
+        stats.setTotalEarnings(bookings.getTotalEarnings());
+
+        long reviewCount = 0;
+        long ratingSum = 0;
+        for (int rating = 1; rating <= 5; rating++) {
+            stats.setRatingCount(rating, 0);
+        }
+        for (RatingHistogramRow row : reviewRepository.aggregateRatingHistogram(nurse)) {
+            stats.setRatingCount(row.getRating(), row.getReviewCount());
+            reviewCount += row.getReviewCount();
+            ratingSum += row.getRatingSum();
+        }
+        stats.setReviewCount(reviewCount);
+        stats.setRatingSum(ratingSum);
+        return stats;
+    }
+
+    private NurseStatsEntity copyCounters(NurseStatsEntity stats) {
+        NurseStatsEntity copy = new NurseStatsEntity(stats.getNurseId());
+        copy.setPendingCount(stats.getPendingCount());
+        copy.setAcceptedCount(stats.getAcceptedCount());
+        copy.setRejectedCount(stats.getRejectedCount());
+        copy.setInProgressCount(stats.getInProgressCount());
+        copy.setCompletedCount(stats.getCompletedCount());
+        copy.setCancelledCount(stats.getCancelledCount());
+        copy.setTotalEarnings(stats.getTotalEarnings());
+        copy.setReviewCount(stats.getReviewCount());
+        copy.setRatingSum(stats.getRatingSum());
+        return copy;
+    }
+
+    private boolean sameCounters(NurseStatsEntity a, NurseStatsEntity b) {
+        for (BookingStatus status : BookingStatus.values()) {
+            if (a.getCount(status) != b.getCount(status)) {
+                return false;
+            }
+        }
+        return a.getTotalEarnings().compareTo(b.getTotalEarnings()) == 0
+                && Objects.equals(a.getReviewCount(), b.getReviewCount())
+                && Objects.equals(a.getRatingSum(), b.getRatingSum());
+    }
+}
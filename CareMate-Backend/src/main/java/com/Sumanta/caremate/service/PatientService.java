@@ -1,17 +1,29 @@
 package com.Sumanta.caremate.service;
 
 import com.Sumanta.caremate.dto.AuthResponse;
+import com.Sumanta.caremate.dto.BookingActionRequest;
 import com.Sumanta.caremate.dto.PatientLoginRequest;
 import com.Sumanta.caremate.dto.PatientRegistrationRequest;
+import com.Sumanta.caremate.entity.BookingEntity;
 import com.Sumanta.caremate.entity.PatientEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.enums.EmailType;
+import com.Sumanta.caremate.enums.NurseStatus;
 import com.Sumanta.caremate.enums.UserRole;
+import com.Sumanta.caremate.repository.BookingRepository;
+import com.Sumanta.caremate.repository.NurseRepository;
 import com.Sumanta.caremate.repository.PatientRepository;
+import com.Sumanta.caremate.security.PasswordHashingService;
+import com.Sumanta.caremate.security.UserDirectoryService;
 import com.Sumanta.caremate.util.JWTUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -20,11 +32,16 @@ public class PatientService {
 
     private final PatientRepository patientRepository;
     private final FileStorageService fileStorageService;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final JWTUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
-
-    @Transactional
+    private final UserDirectoryService userDirectoryService;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingRepository bookingRepository;
+    private final NurseRepository nurseRepository;
+    private final BookingStateMachine bookingStateMachine;
+
+    // The report image is written before the transaction opens and removed again if the insert fails
     public AuthResponse register(PatientRegistrationRequest request) {
         // Check if email or mobile already exists
         if (patientRepository.existsByEmail(request.getEmail())) {
@@ -37,37 +54,51 @@ public class PatientService {
         // Store hospital report image
         String reportImagePath = fileStorageService.storeFile(
                 request.getHospitalReportImage(), "patients/reports");
-
-        // Create patient entity
-        PatientEntity patient = new PatientEntity();
-        patient.setFullName(request.getFullName());
-        patient.setMobileNo(request.getMobileNo());
-        patient.setEmail(request.getEmail());
-        patient.setPassword(passwordEncoder.encode(request.getPassword())); // UPDATED: Encrypt password
-        patient.setHospitalReportImage(reportImagePath);
-        patient.setAge(request.getAge());
-        patient.setCategory(request.getCategory());
-        patient.setFamilyMobileNo(request.getFamilyMobileNo());
-        patient.setFamilyEmail(request.getFamilyEmail());
-        patient.setRole(UserRole.PATIENT);
-        patient.setIsActive(true);
-
-        PatientEntity savedPatient = patientRepository.save(patient);
-
-        // Send welcome email to patient
-        emailService.sendPatientRegistrationEmail(
-                savedPatient.getEmail(),
-                savedPatient.getFullName()
-        );
-
-        // Send notification email to family member
-        emailService.sendFamilyNotificationEmail(
-                savedPatient.getFamilyEmail(),
-                savedPatient.getFullName()
-        );
+        String encodedPassword = passwordHashingService.encode(request.getPassword());
+
+        PatientEntity savedPatient;
+        try {
+            savedPatient = transactionTemplate.execute(status -> {
+                // Create patient entity
+                PatientEntity patient = new PatientEntity();
+                patient.setFullName(request.getFullName());
+                patient.setMobileNo(request.getMobileNo());
+                patient.setEmail(request.getEmail());
+                patient.setPassword(encodedPassword);
+                patient.setHospitalReportImage(reportImagePath);
+                patient.setAge(request.getAge());
+                patient.setCategory(request.getCategory());
+                patient.setFamilyMobileNo(request.getFamilyMobileNo());
+                patient.setFamilyEmail(request.getFamilyEmail());
+                patient.setRole(UserRole.PATIENT);
+                patient.setIsActive(true);
+
+                PatientEntity saved = patientRepository.save(patient);
+                userDirectoryService.register(UserRole.PATIENT, saved.getId(), saved.getEmail(),
+                        saved.getPassword(), saved.getIsActive());
+
+                // Queue welcome email to patient
+                emailOutboxService.enqueue(
+                        EmailType.PATIENT_REGISTRATION,
+                        saved.getEmail(),
+                        Map.of("name", saved.getFullName())
+                );
+
+                // Queue notification email to family member
+                emailOutboxService.enqueue(
+                        EmailType.FAMILY_NOTIFICATION,
+                        saved.getFamilyEmail(),
+                        Map.of("patientName", saved.getFullName())
+                );
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            fileStorageService.deleteQuietly(reportImagePath);
+            throw e;
+        }
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(savedPatient.getEmail());
+        String token = jwtUtil.generateToken(savedPatient.getEmail(), savedPatient.getId(), UserRole.PATIENT);
 
         log.info("Patient registered successfully: {}", savedPatient.getEmail());
 
@@ -79,7 +110,8 @@ public class PatientService {
         );
     }
 
-    public AuthResponse login(PatientLoginRequest request) {
+    // The BCrypt check runs on the password hashing pool; the returned future completes there
+    public CompletableFuture<AuthResponse> login(PatientLoginRequest request) {
         // UPDATED: Find by email only
         PatientEntity patient = patientRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
@@ -89,19 +121,44 @@ public class PatientService {
         }
 
         // UPDATED: Verify password
-        if (!passwordEncoder.matches(request.getPassword(), patient.getPassword())) {
-            throw new RuntimeException("Invalid email or password");
-        }
-
-        String token = jwtUtil.generateToken(patient.getEmail());
-
-        log.info("Patient logged in successfully: {}", patient.getEmail());
+        return passwordHashingService.verify(UserRole.PATIENT, patient.getId(), patient.getEmail(),
+                        request.getPassword(), patient.getPassword())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new RuntimeException("Invalid email or password");
+                    }
+
+                    String token = jwtUtil.generateToken(patient.getEmail(), patient.getId(), UserRole.PATIENT);
+
+                    log.info("Patient logged in successfully: {}", patient.getEmail());
+
+                    return new AuthResponse(
+                            token,
+                            UserRole.PATIENT,
+                            patient.getEmail(),
+                            "Login successful"
+                    );
+                });
+    }
 
-        return new AuthResponse(
-                token,
-                UserRole.PATIENT,
-                patient.getEmail(),
-                "Login successful"
-        );
+    // ==================== BOOKINGS ====================
+
+    public void cancelBooking(Long patientId, Long bookingId, BookingActionRequest request) {
+        String reason = request != null ? request.getReason() : null;
+        bookingStateMachine.inTransaction(() -> {
+            BookingEntity booking = bookingRepository.findByIdAndPatient(bookingId, patientRepository.getReferenceById(patientId))
+                    .orElseThrow(() -> new RuntimeException("Booking not found"));
+            BookingStatus previousStatus = booking.getStatus();
+            bookingStateMachine.transition(booking, BookingStatus.CANCELLED, UserRole.PATIENT, patientId, reason,
+                    () -> bookingRepository.markStatus(bookingId, previousStatus, BookingStatus.CANCELLED, LocalDateTime.now()));
+
+            // Only an accepted booking put the nurse on duty
+            if (previousStatus == BookingStatus.ACCEPTED) {
+                nurseRepository.releaseFromDuty(booking.getNurse().getId(), NurseStatus.ON_DUTY, NurseStatus.AVAILABLE);
+            }
+
+            log.info("Booking {} cancelled by patient: {}", bookingId, patientId);
+            return null;
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.Sumanta.caremate.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Storage backend for uploaded files, addressed by relative keys such as
+ * {@code cas/ab/cd/<sha256>.jpg}. Selected with {@code file.storage.backend}
+ * ({@code local}, {@code s3} or {@code memory}).
+ */
+public interface BlobStore {
+
+    /**
+     * Stores the contents of a local file under the key, replacing any existing blob.
+     * The source file belongs to the store afterwards and may be moved or deleted.
+     */
+    void put(String key, Path source, long size) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    /**
+     * Throws {@link java.io.FileNotFoundException} or {@link java.nio.file.NoSuchFileException} when the key is missing.
+     */
+    InputStream open(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,46 @@
+package com.Sumanta.caremate.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Process-local stand-in for development and tests; contents are lost on restart
+@Component
+@ConditionalOnProperty(name = "file.storage.backend", havingValue = "memory")
+public class InMemoryBlobStore implements BlobStore {
+
+    private final Map<String, byte[]> blobs = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String key, Path source, long size) throws IOException {
+        blobs.put(key, Files.readAllBytes(source));
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return blobs.containsKey(key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        byte[] content = blobs.get(key);
+        if (content == null) {
+            throw new FileNotFoundException(key);
+        }
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public void delete(String key) {
+        blobs.remove(key);
+    }
+}
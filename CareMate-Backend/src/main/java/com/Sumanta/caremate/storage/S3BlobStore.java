@@ -0,0 +1,166 @@
+package com.Sumanta.caremate.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * S3-compatible backend (AWS S3, MinIO, ...). Files larger than one part are sent as a multipart
+ * upload whose parts are uploaded in parallel on a shared, bounded pool.
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.backend", havingValue = "s3")
+@Slf4j
+public class S3BlobStore implements BlobStore, DisposableBean {
+
+    // S3 rejects multipart parts smaller than 5 MB (except the last)
+    private static final long MIN_PART_SIZE = DataSize.ofMegabytes(5).toBytes();
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String keyPrefix;
+    private final long partSize;
+    private final ExecutorService partUploader;
+
+    public S3BlobStore(@Value("${file.storage.s3.bucket}") String bucket,
+                       @Value("${file.storage.s3.region:us-east-1}") String region,
+                       @Value("${file.storage.s3.endpoint:}") String endpoint,
+                       @Value("${file.storage.s3.path-style:false}") boolean pathStyle,
+                       @Value("${file.storage.s3.key-prefix:}") String keyPrefix,
+                       @Value("${file.storage.s3.part-size:8MB}") DataSize partSize,
+                       @Value("${file.storage.s3.upload-parallelism:4}") int uploadParallelism) {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .forcePathStyle(pathStyle);
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        this.s3 = builder.build();
+        this.bucket = bucket;
+        this.keyPrefix = keyPrefix;
+        this.partSize = Math.max(partSize.toBytes(), MIN_PART_SIZE);
+        this.partUploader = Executors.newFixedThreadPool(uploadParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void put(String key, Path source, long size) throws IOException {
+        if (size <= partSize) {
+            s3.putObject(b -> b.bucket(bucket).key(objectKey(key)), RequestBody.fromFile(source));
+        } else {
+            putMultipart(objectKey(key), source, size);
+        }
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3.headObject(b -> b.bucket(bucket).key(objectKey(key)));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return s3.getObject(b -> b.bucket(bucket).key(objectKey(key)));
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException(key);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        s3.deleteObject(b -> b.bucket(bucket).key(objectKey(key)));
+    }
+
+    @Override
+    public void destroy() {
+        partUploader.shutdown();
+        s3.close();
+    }
+
+    private void putMultipart(String objectKey, Path source, long size) throws IOException {
+        String uploadId = s3.createMultipartUpload(b -> b.bucket(bucket).key(objectKey)).uploadId();
+        try {
+            List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                int number = partNumber;
+                long start = offset;
+                int length = (int) Math.min(partSize, size - offset);
+                parts.add(CompletableFuture.supplyAsync(
+                        () -> uploadPart(objectKey, uploadId, number, source, start, length), partUploader));
+            }
+
+            List<CompletedPart> completed = parts.stream().map(CompletableFuture::join).toList();
+            s3.completeMultipartUpload(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId)
+                    .multipartUpload(m -> m.parts(completed)));
+        } catch (RuntimeException e) {
+            s3.abortMultipartUpload(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId));
+            throw new IOException("Multipart upload failed for " + objectKey, e);
+        }
+        log.debug("Multipart upload of {} ({} bytes) completed", objectKey, size);
+    }
+
+    private CompletedPart uploadPart(String objectKey, String uploadId, int partNumber,
+                                     Path source, long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file while reading part " + partNumber);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+
+        UploadPartResponse response = s3.uploadPart(b -> b.bucket(bucket).key(objectKey)
+                .uploadId(uploadId).partNumber(partNumber), RequestBody.fromByteBuffer(buffer));
+        return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+    }
+
+    private String objectKey(String key) {
+        return keyPrefix + key;
+    }
+}
@@ -0,0 +1,67 @@
+package com.Sumanta.caremate.storage;
+
+import com.Sumanta.caremate.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Refuses multipart requests whose declared Content-Length is over the limit before anything reads
+ * the body, so the container never parses or spools it. Chunked requests carry no length and are
+ * left to the per-file checks in {@link UploadValidator} and the container's multipart limits.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class UploadSizeGuardFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final long maxRequestBytes;
+
+    public UploadSizeGuardFilter(ObjectMapper objectMapper,
+                                 @Value("${file.upload.max-request-size:25MB}") DataSize maxRequestSize) {
+        this.objectMapper = objectMapper;
+        this.maxRequestBytes = maxRequestSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxRequestBytes) {
+            log.warn("Rejected {} byte upload to {}", contentLength, request.getRequestURI());
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            // Tell the client not to keep sending the body on this connection
+            response.setHeader("Connection", "close");
+            objectMapper.writeValue(response.getOutputStream(), new ApiResponse<Void>(false,
+                    "Request size exceeds maximum limit of " + DataSize.ofBytes(maxRequestBytes).toMegabytes() + "MB"));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,125 @@
+package com.Sumanta.caremate.storage;
+
+import com.Sumanta.caremate.enums.UploadType;
+import com.Sumanta.caremate.exception.UploadRejectedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates uploads while they stream: the type comes from the magic bytes at the start of the
+ * content, and each storage subdirectory has its own size cap that is enforced on every read,
+ * so an oversized or disguised file is rejected after a few kilobytes rather than after storing it.
+ */
+@Component
+public class UploadValidator {
+
+    private final Map<String, Rule> rules;
+
+    public UploadValidator(@Value("${file.upload.max-profile-image-size:5MB}") DataSize maxProfileImageSize,
+                           @Value("${file.upload.max-report-size:15MB}") DataSize maxReportSize) {
+        this.rules = Map.of(
+                "nurses/profiles", new Rule(EnumSet.of(UploadType.JPEG, UploadType.PNG), maxProfileImageSize.toBytes()),
+                "patients/reports", new Rule(EnumSet.of(UploadType.JPEG, UploadType.PNG, UploadType.PDF), maxReportSize.toBytes())
+        );
+    }
+
+    // Largest upload accepted by any subdirectory, used to reject requests before they are parsed
+    public long maxFileSize() {
+        return rules.values().stream().mapToLong(Rule::maxBytes).max().orElse(0);
+    }
+
+    public ValidatedUpload open(MultipartFile file, String subDirectory) throws IOException {
+        Rule rule = rules.get(subDirectory);
+        if (rule == null) {
+            throw new IllegalArgumentException("No upload rule for " + subDirectory);
+        }
+        if (file == null || file.isEmpty()) {
+            throw new UploadRejectedException(HttpStatus.BAD_REQUEST, "File is empty");
+        }
+        // The container already knows the part size, so obvious abuse is refused without reading anything
+        if (file.getSize() > rule.maxBytes()) {
+            throw tooLarge(rule);
+        }
+
+        PushbackInputStream in = new PushbackInputStream(file.getInputStream(), UploadType.MAX_SIGNATURE_LENGTH);
+        try {
+            byte[] header = in.readNBytes(UploadType.MAX_SIGNATURE_LENGTH);
+            UploadType type = UploadType.detect(header, header.length);
+            if (type == null || !rule.allowedTypes().contains(type)) {
+                throw new UploadRejectedException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                        "Unsupported file type. Allowed: " + rule.allowedTypes());
+            }
+            in.unread(header);
+            return new ValidatedUpload(type, new LimitedInputStream(in, rule));
+        } catch (RuntimeException | IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static UploadRejectedException tooLarge(Rule rule) {
+        return new UploadRejectedException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "File size exceeds maximum limit of " + DataSize.ofBytes(rule.maxBytes()).toMegabytes() + "MB");
+    }
+
+    public record ValidatedUpload(UploadType type, InputStream content) {
+    }
+
+    private record Rule(Set<UploadType> allowedTypes, long maxBytes) {
+    }
+
+    // Fails the read that crosses the cap, which aborts the copy in progress
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final Rule rule;
+        private long count;
+
+        LimitedInputStream(InputStream in, Rule rule) {
+            super(in);
+            this.rule = rule;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long n) {
+            count += n;
+            if (count > rule.maxBytes()) {
+                throw tooLarge(rule);
+            }
+        }
+    }
+}
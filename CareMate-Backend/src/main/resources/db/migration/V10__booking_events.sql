@@ -0,0 +1,15 @@
+-- Append-only log of booking status transitions
+
+CREATE TABLE IF NOT EXISTS booking_events (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id   BIGINT       NOT NULL REFERENCES bookings (id),
+    nurse_id     BIGINT       NOT NULL,
+    from_status  VARCHAR(20)  NOT NULL,
+    to_status    VARCHAR(20)  NOT NULL,
+    actor_role   VARCHAR(20)  NOT NULL,
+    actor_id     BIGINT       NOT NULL,
+    note         VARCHAR(1000),
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_events_booking_created ON booking_events (booking_id, created_at, id);
@@ -0,0 +1,52 @@
+-- Count new bookings and reviews into nurse_stats whichever writer inserts them. Status changes
+-- are applied by NurseStatsService. Nurses without a stats row are skipped; their row is built
+-- from the source tables on first read and already includes these rows.
+
+CREATE OR REPLACE FUNCTION nurse_stats_count_booking() RETURNS trigger AS $$
+BEGIN
+    UPDATE nurse_stats
+    SET pending_count     = pending_count     + (NEW.status = 'PENDING')::int,
+        accepted_count    = accepted_count    + (NEW.status = 'ACCEPTED')::int,
+        rejected_count    = rejected_count    + (NEW.status = 'REJECTED')::int,
+        in_progress_count = in_progress_count + (NEW.status = 'IN_PROGRESS')::int,
+        completed_count   = completed_count   + (NEW.status = 'COMPLETED')::int,
+        cancelled_count   = cancelled_count   + (NEW.status = 'CANCELLED')::int,
+        total_earnings    = total_earnings    + CASE WHEN NEW.status = 'COMPLETED' THEN NEW.total_amount ELSE 0 END,
+        updated_at        = now()
+    WHERE nurse_id = NEW.nurse_id;
+
+    -- Same rule as the rebuild: only completed bookings with a completion time fall into a month
+    IF FOUND AND NEW.status = 'COMPLETED' AND NEW.completed_at IS NOT NULL THEN
+        INSERT INTO nurse_monthly_earnings (nurse_id, earnings_year, earnings_month, earnings, completed_count)
+        VALUES (NEW.nurse_id, extract(YEAR FROM NEW.completed_at), extract(MONTH FROM NEW.completed_at), NEW.total_amount, 1)
+        ON CONFLICT (nurse_id, earnings_year, earnings_month) DO UPDATE
+            SET earnings        = nurse_monthly_earnings.earnings + EXCLUDED.earnings,
+                completed_count = nurse_monthly_earnings.completed_count + 1;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION nurse_stats_count_review() RETURNS trigger AS $$
+BEGIN
+    UPDATE nurse_stats
+    SET review_count     = review_count + 1,
+        rating_sum       = rating_sum + NEW.rating,
+        one_star_count   = one_star_count   + (NEW.rating = 1)::int,
+        two_star_count   = two_star_count   + (NEW.rating = 2)::int,
+        three_star_count = three_star_count + (NEW.rating = 3)::int,
+        four_star_count  = four_star_count  + (NEW.rating = 4)::int,
+        five_star_count  = five_star_count  + (NEW.rating = 5)::int,
+        updated_at       = now()
+    WHERE nurse_id = NEW.nurse_id;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_bookings_nurse_stats ON bookings;
+CREATE TRIGGER trg_bookings_nurse_stats
+    AFTER INSERT ON bookings
+    FOR EACH ROW EXECUTE FUNCTION nurse_stats_count_booking();
+
+DROP TRIGGER IF EXISTS trg_reviews_nurse_stats ON reviews;
+CREATE TRIGGER trg_reviews_nurse_stats
+    AFTER INSERT ON reviews
+    FOR EACH ROW EXECUTE FUNCTION nurse_stats_count_review();
@@ -0,0 +1,110 @@
+-- nurse_stats and nurse_monthly_earnings are maintained by triggers only: a nurse gets a zeroed row
+-- when inserted, and booking inserts, booking status changes and review inserts adjust it in the
+-- writing transaction. NurseStatsService only reads the rows and rebuilds them on reconciliation.
+
+CREATE OR REPLACE FUNCTION nurse_stats_create() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO nurse_stats (nurse_id, pending_count, accepted_count, rejected_count, in_progress_count,
+                             completed_count, cancelled_count, total_earnings, review_count, rating_sum,
+                             one_star_count, two_star_count, three_star_count, four_star_count, five_star_count,
+                             updated_at)
+    VALUES (NEW.id, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, now())
+    ON CONFLICT (nurse_id) DO NOTHING;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+-- Moves the booking from its old status bucket to the new one, including its earnings
+CREATE OR REPLACE FUNCTION nurse_stats_move_booking() RETURNS trigger AS $$
+DECLARE
+    counted BOOLEAN;
+BEGIN
+    UPDATE nurse_stats
+    SET pending_count     = pending_count     + (NEW.status = 'PENDING')::int     - (OLD.status = 'PENDING')::int,
+        accepted_count    = accepted_count    + (NEW.status = 'ACCEPTED')::int    - (OLD.status = 'ACCEPTED')::int,
+        rejected_count    = rejected_count    + (NEW.status = 'REJECTED')::int    - (OLD.status = 'REJECTED')::int,
+        in_progress_count = in_progress_count + (NEW.status = 'IN_PROGRESS')::int - (OLD.status = 'IN_PROGRESS')::int,
+        completed_count   = completed_count   + (NEW.status = 'COMPLETED')::int   - (OLD.status = 'COMPLETED')::int,
+        cancelled_count   = cancelled_count   + (NEW.status = 'CANCELLED')::int   - (OLD.status = 'CANCELLED')::int,
+        total_earnings    = total_earnings
+                            + CASE WHEN NEW.status = 'COMPLETED' THEN NEW.total_amount ELSE 0 END
+                            - CASE WHEN OLD.status = 'COMPLETED' THEN OLD.total_amount ELSE 0 END,
+        updated_at        = now()
+    WHERE nurse_id = NEW.nurse_id;
+    counted := FOUND;
+
+    IF counted AND OLD.status = 'COMPLETED' AND OLD.completed_at IS NOT NULL THEN
+        UPDATE nurse_monthly_earnings
+        SET earnings        = earnings - OLD.total_amount,
+            completed_count = completed_count - 1
+        WHERE nurse_id = OLD.nurse_id
+          AND earnings_year = extract(YEAR FROM OLD.completed_at)
+          AND earnings_month = extract(MONTH FROM OLD.completed_at);
+    END IF;
+
+    IF counted AND NEW.status = 'COMPLETED' AND NEW.completed_at IS NOT NULL THEN
+        INSERT INTO nurse_monthly_earnings (nurse_id, earnings_year, earnings_month, earnings, completed_count)
+        VALUES (NEW.nurse_id, extract(YEAR FROM NEW.completed_at), extract(MONTH FROM NEW.completed_at), NEW.total_amount, 1)
+        ON CONFLICT (nurse_id, earnings_year, earnings_month) DO UPDATE
+            SET earnings        = nurse_monthly_earnings.earnings + EXCLUDED.earnings,
+                completed_count = nurse_monthly_earnings.completed_count + 1;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_nurses_nurse_stats ON nurses;
+CREATE TRIGGER trg_nurses_nurse_stats
+    AFTER INSERT ON nurses
+    FOR EACH ROW EXECUTE FUNCTION nurse_stats_create();
+
+DROP TRIGGER IF EXISTS trg_bookings_status_nurse_stats ON bookings;
+CREATE TRIGGER trg_bookings_status_nurse_stats
+    AFTER UPDATE OF status ON bookings
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION nurse_stats_move_booking();
+
+-- Backfill nurses that never had a row (they were built on first read before this migration);
+-- monthly earnings first, while the missing stats rows still identify them
+INSERT INTO nurse_monthly_earnings (nurse_id, earnings_year, earnings_month, earnings, completed_count)
+SELECT b.nurse_id, extract(YEAR FROM b.completed_at), extract(MONTH FROM b.completed_at), SUM(b.total_amount), COUNT(*)
+FROM bookings b
+WHERE b.status = 'COMPLETED'
+  AND b.completed_at IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM nurse_stats s WHERE s.nurse_id = b.nurse_id)
+GROUP BY 1, 2, 3
+ON CONFLICT (nurse_id, earnings_year, earnings_month) DO NOTHING;
+
+INSERT INTO nurse_stats (nurse_id, pending_count, accepted_count, rejected_count, in_progress_count,
+                         completed_count, cancelled_count, total_earnings, review_count, rating_sum,
+                         one_star_count, two_star_count, three_star_count, four_star_count, five_star_count,
+                         last_reconciled_at, updated_at)
+SELECT n.id,
+       COALESCE(b.pending_count, 0), COALESCE(b.accepted_count, 0), COALESCE(b.rejected_count, 0),
+       COALESCE(b.in_progress_count, 0), COALESCE(b.completed_count, 0), COALESCE(b.cancelled_count, 0),
+       COALESCE(b.total_earnings, 0),
+       COALESCE(r.review_count, 0), COALESCE(r.rating_sum, 0),
+       COALESCE(r.one_star_count, 0), COALESCE(r.two_star_count, 0), COALESCE(r.three_star_count, 0),
+       COALESCE(r.four_star_count, 0), COALESCE(r.five_star_count, 0),
+       now(), now()
+FROM nurses n
+LEFT JOIN (SELECT nurse_id,
+                  COUNT(*) FILTER (WHERE status = 'PENDING')     AS pending_count,
+                  COUNT(*) FILTER (WHERE status = 'ACCEPTED')    AS accepted_count,
+                  COUNT(*) FILTER (WHERE status = 'REJECTED')    AS rejected_count,
+                  COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress_count,
+                  COUNT(*) FILTER (WHERE status = 'COMPLETED')   AS completed_count,
+                  COUNT(*) FILTER (WHERE status = 'CANCELLED')   AS cancelled_count,
+                  SUM(total_amount) FILTER (WHERE status = 'COMPLETED') AS total_earnings
+           FROM bookings
+           GROUP BY nurse_id) b ON b.nurse_id = n.id
+LEFT JOIN (SELECT nurse_id,
+                  COUNT(*)    AS review_count,
+                  SUM(rating) AS rating_sum,
+                  COUNT(*) FILTER (WHERE rating = 1) AS one_star_count,
+                  COUNT(*) FILTER (WHERE rating = 2) AS two_star_count,
+                  COUNT(*) FILTER (WHERE rating = 3) AS three_star_count,
+                  COUNT(*) FILTER (WHERE rating = 4) AS four_star_count,
+                  COUNT(*) FILTER (WHERE rating = 5) AS five_star_count
+           FROM reviews
+           GROUP BY nurse_id) r ON r.nurse_id = n.id
+WHERE NOT EXISTS (SELECT 1 FROM nurse_stats s WHERE s.nurse_id = n.id);
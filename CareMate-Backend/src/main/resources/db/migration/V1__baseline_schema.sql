@@ -0,0 +1,118 @@
+-- Baseline: the schema Hibernate generated from the original entities, before the schema was
+-- managed by migrations. Existing databases are baselined at version 1 (see FlywayConfig) and
+-- skip this script, so every table, column and index added since then lives in V2 onwards.
+
+CREATE TABLE admins (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    role        VARCHAR(255) NOT NULL,
+    is_active   BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT uk_admins_email UNIQUE (email)
+);
+
+CREATE TABLE nurses (
+    id                         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name                  VARCHAR(255) NOT NULL,
+    mobile_no                  VARCHAR(255) NOT NULL,
+    email                      VARCHAR(255) NOT NULL,
+    password                   VARCHAR(255) NOT NULL,
+    profile_image1             VARCHAR(255) NOT NULL,
+    profile_image2             VARCHAR(255) NOT NULL,
+    educational_qualification  VARCHAR(255) NOT NULL,
+    years_of_experience        INTEGER      NOT NULL,
+    age                        INTEGER      NOT NULL,
+    status                     VARCHAR(255) NOT NULL,
+    role                       VARCHAR(255) NOT NULL,
+    is_active                  BOOLEAN      NOT NULL,
+    created_at                 TIMESTAMP(6) NOT NULL,
+    updated_at                 TIMESTAMP(6),
+    CONSTRAINT uk_nurses_mobile_no UNIQUE (mobile_no),
+    CONSTRAINT uk_nurses_email UNIQUE (email)
+);
+
+CREATE TABLE nurse_specializations (
+    nurse_id  BIGINT       NOT NULL REFERENCES nurses (id),
+    category  VARCHAR(255) NOT NULL,
+    PRIMARY KEY (nurse_id, category)
+);
+
+CREATE TABLE patients (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name              VARCHAR(255) NOT NULL,
+    mobile_no              VARCHAR(255) NOT NULL,
+    email                  VARCHAR(255) NOT NULL,
+    password               VARCHAR(255) NOT NULL,
+    hospital_report_image  VARCHAR(255) NOT NULL,
+    age                    INTEGER      NOT NULL,
+    category               VARCHAR(255) NOT NULL,
+    family_mobile_no       VARCHAR(255) NOT NULL,
+    family_email           VARCHAR(255) NOT NULL,
+    role                   VARCHAR(255) NOT NULL,
+    is_active              BOOLEAN      NOT NULL,
+    created_at             TIMESTAMP(6) NOT NULL,
+    updated_at             TIMESTAMP(6),
+    CONSTRAINT uk_patients_mobile_no UNIQUE (mobile_no),
+    CONSTRAINT uk_patients_email UNIQUE (email)
+);
+
+CREATE TABLE bookings (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    patient_id           BIGINT        NOT NULL REFERENCES patients (id),
+    nurse_id             BIGINT        NOT NULL REFERENCES nurses (id),
+    start_date           DATE          NOT NULL,
+    end_date             DATE          NOT NULL,
+    total_amount         NUMERIC(38, 2) NOT NULL,
+    base_charge          NUMERIC(38, 2) NOT NULL,
+    subscription_charge  NUMERIC(38, 2),
+    status               VARCHAR(255)  NOT NULL,
+    patient_notes        VARCHAR(1000),
+    nurse_notes          VARCHAR(1000),
+    care_report          VARCHAR(2000),
+    accepted_at          TIMESTAMP(6),
+    rejected_at          TIMESTAMP(6),
+    completed_at         TIMESTAMP(6),
+    rejection_reason     VARCHAR(500),
+    created_at           TIMESTAMP(6)  NOT NULL,
+    updated_at           TIMESTAMP(6)
+);
+
+CREATE TABLE availability_schedules (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nurse_id     BIGINT       NOT NULL REFERENCES nurses (id),
+    day_of_week  VARCHAR(255) NOT NULL,
+    start_time   TIME(6)      NOT NULL,
+    end_time     TIME(6)      NOT NULL,
+    is_active    BOOLEAN      NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6)
+);
+
+CREATE TABLE notifications (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id            BIGINT        NOT NULL,
+    user_role          VARCHAR(255)  NOT NULL,
+    type               VARCHAR(255)  NOT NULL,
+    title              VARCHAR(200)  NOT NULL,
+    message            VARCHAR(1000) NOT NULL,
+    related_entity_id  BIGINT,
+    is_read            BOOLEAN       NOT NULL,
+    read_at            TIMESTAMP(6),
+    created_at         TIMESTAMP(6)  NOT NULL
+);
+
+CREATE TABLE reviews (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id   BIGINT        NOT NULL REFERENCES bookings (id),
+    patient_id   BIGINT        NOT NULL REFERENCES patients (id),
+    nurse_id     BIGINT        NOT NULL REFERENCES nurses (id),
+    rating       INTEGER       NOT NULL,
+    comment      VARCHAR(1000),
+    nurse_reply  VARCHAR(1000),
+    replied_at   TIMESTAMP(6),
+    created_at   TIMESTAMP(6)  NOT NULL,
+    updated_at   TIMESTAMP(6)
+);
+
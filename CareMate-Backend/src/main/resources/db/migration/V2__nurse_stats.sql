@@ -0,0 +1,32 @@
+-- Incrementally maintained per-nurse counters and monthly earnings (NurseStatsService).
+-- IF NOT EXISTS because databases baselined at V1 may already have these tables from Hibernate.
+
+CREATE TABLE IF NOT EXISTS nurse_stats (
+    nurse_id            BIGINT         PRIMARY KEY,
+    pending_count       BIGINT         NOT NULL,
+    accepted_count      BIGINT         NOT NULL,
+    rejected_count      BIGINT         NOT NULL,
+    in_progress_count   BIGINT         NOT NULL,
+    completed_count     BIGINT         NOT NULL,
+    cancelled_count     BIGINT         NOT NULL,
+    total_earnings      NUMERIC(38, 2) NOT NULL,
+    review_count        BIGINT         NOT NULL,
+    rating_sum          BIGINT         NOT NULL,
+    one_star_count      BIGINT         NOT NULL,
+    two_star_count      BIGINT         NOT NULL,
+    three_star_count    BIGINT         NOT NULL,
+    four_star_count     BIGINT         NOT NULL,
+    five_star_count     BIGINT         NOT NULL,
+    last_reconciled_at  TIMESTAMP(6),
+    updated_at          TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS nurse_monthly_earnings (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nurse_id         BIGINT         NOT NULL,
+    earnings_year    INTEGER        NOT NULL,
+    earnings_month   INTEGER        NOT NULL,
+    earnings         NUMERIC(38, 2) NOT NULL,
+    completed_count  BIGINT         NOT NULL,
+    CONSTRAINT uk_nurse_monthly_earnings_period UNIQUE (nurse_id, earnings_year, earnings_month)
+);
@@ -0,0 +1,19 @@
+-- Indexes behind the (created_at, id) keyset pages and their offset-paged counterparts.
+-- Built CONCURRENTLY so existing deployments keep serving writes; Flyway runs this script
+-- outside a transaction. They match the @Index declarations on the entities, so databases
+-- where Hibernate already created them are left alone.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_nurse_created
+    ON bookings (nurse_id, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_nurse_status_created
+    ON bookings (nurse_id, status, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_created
+    ON notifications (user_id, user_role, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_read_created
+    ON notifications (user_id, user_role, is_read, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_nurse_created
+    ON reviews (nurse_id, created_at, id);
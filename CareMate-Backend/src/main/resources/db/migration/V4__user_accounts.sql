@@ -0,0 +1,12 @@
+-- Login directory: one row per email across admins, nurses and patients (UserDirectoryService).
+-- Rows are backfilled lazily on first lookup, so existing accounts need no data migration.
+
+CREATE TABLE IF NOT EXISTS user_accounts (
+    email       VARCHAR(255) PRIMARY KEY,
+    role        VARCHAR(20)  NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    is_active   BOOLEAN      NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT uk_user_accounts_role_user UNIQUE (role, user_id)
+);
@@ -0,0 +1,15 @@
+-- Transactional outbox for outgoing mail. Its claim and purge indexes are partial and are
+-- created in V7 together with the other hot-query indexes.
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type             VARCHAR(50)   NOT NULL,
+    recipient        VARCHAR(255)  NOT NULL,
+    params           JSONB         NOT NULL,
+    status           VARCHAR(20)   NOT NULL,
+    attempts         INTEGER       NOT NULL,
+    next_attempt_at  TIMESTAMP(6)  NOT NULL,
+    last_error       VARCHAR(1000),
+    created_at       TIMESTAMP(6)  NOT NULL,
+    sent_at          TIMESTAMP(6)
+);
@@ -0,0 +1,8 @@
+-- Reference counts for content-addressed uploads (FileStorageService)
+
+CREATE TABLE IF NOT EXISTS stored_blobs (
+    path        VARCHAR(200) PRIMARY KEY,
+    ref_count   BIGINT       NOT NULL,
+    size_bytes  BIGINT       NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
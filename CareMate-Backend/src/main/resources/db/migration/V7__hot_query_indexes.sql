@@ -0,0 +1,47 @@
+-- Indexes for the predicates the repositories filter on. Built CONCURRENTLY so existing
+-- deployments keep serving writes; Flyway runs this script outside a transaction.
+
+-- Earnings totals, ranges and time series only ever read COMPLETED rows; INCLUDE allows index-only sums
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_nurse_completed
+    ON bookings (nurse_id, completed_at) INCLUDE (total_amount)
+    WHERE status = 'COMPLETED';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_patient_created
+    ON bookings (patient_id, created_at, id);
+
+-- Unread badge counts and the unread feed; read notifications never enter this index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_unread
+    ON notifications (user_id, user_role, created_at, id)
+    WHERE is_read = false;
+
+-- Rating histogram and per-star counts as index-only scans
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_nurse_rating
+    ON reviews (nurse_id, rating);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_patient_created
+    ON reviews (patient_id, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_booking
+    ON reviews (booking_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_availability_nurse_day_active
+    ON availability_schedules (nurse_id, day_of_week, is_active);
+
+-- ImageService only serves paths a nurse profile points at; checked on every image request (BitmapOr of both)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_nurses_profile_image1
+    ON nurses (profile_image1);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_nurses_profile_image2
+    ON nurses (profile_image2);
+
+-- The dispatcher only claims PENDING/SENDING rows and the purge only deletes SENT ones
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_outbox_due
+    ON email_outbox (next_attempt_at, id)
+    WHERE status IN ('PENDING', 'SENDING');
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_outbox_sent
+    ON email_outbox (sent_at)
+    WHERE status = 'SENT';
+
+-- Replaced by the two partial indexes above; only present where Hibernate created email_outbox
+DROP INDEX CONCURRENTLY IF EXISTS idx_email_outbox_status_next_attempt;
@@ -0,0 +1,29 @@
+-- A nurse can hold at most one ACCEPTED/IN_PROGRESS booking for any given day.
+-- Enforced by the database so concurrent accepts on different nodes cannot double-book.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Booking dates are inclusive on both ends
+ALTER TABLE bookings
+    ADD COLUMN period DATERANGE GENERATED ALWAYS AS (daterange(start_date, end_date, '[]')) STORED;
+
+-- Fail with a readable message instead of a constraint error if existing data already overlaps
+DO $$
+DECLARE
+    conflicts BIGINT;
+BEGIN
+    SELECT COUNT(*) INTO conflicts
+    FROM bookings a
+    JOIN bookings b ON a.nurse_id = b.nurse_id AND a.id < b.id AND a.period && b.period
+    WHERE a.status IN ('ACCEPTED', 'IN_PROGRESS')
+      AND b.status IN ('ACCEPTED', 'IN_PROGRESS');
+    IF conflicts > 0 THEN
+        RAISE EXCEPTION '% pairs of active bookings overlap for the same nurse; resolve them before migrating', conflicts;
+    END IF;
+END $$;
+
+-- The constraint's GiST index also serves the overlap probe in BookingRepository
+ALTER TABLE bookings
+    ADD CONSTRAINT ex_bookings_nurse_active_period
+    EXCLUDE USING gist (nurse_id WITH =, period WITH &&)
+    WHERE (status IN ('ACCEPTED', 'IN_PROGRESS'));
@@ -0,0 +1,4 @@
+-- Version columns for optimistic locking on bookings and nurses (JPA @Version)
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE nurses ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
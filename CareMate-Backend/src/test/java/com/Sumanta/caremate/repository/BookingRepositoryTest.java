@@ -0,0 +1,135 @@
+package com.Sumanta.caremate.repository;
+
+import com.Sumanta.caremate.entity.BookingEntity;
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.entity.PatientEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.repository.projection.NurseBookingAggregate;
+import com.Sumanta.caremate.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingRepositoryTest extends PostgresIntegrationTest {
+
+    // Page select, count, and one batched select for the nurses' specializations
+    private static final long PAGE_LOAD_STATEMENTS = 3;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    NurseEntity nurse;
+    PatientEntity patient;
+
+    @BeforeEach
+    void seed() {
+        nurse = data.nurse();
+        NurseEntity otherNurse = data.nurse();
+        patient = data.patient();
+        for (int i = 0; i < 4; i++) {
+            // A patient per round, so lazily loading patients would cost one select each
+            PatientEntity roundPatient = i == 0 ? patient : data.patient();
+            for (BookingStatus status : BookingStatus.values()) {
+                data.booking(nurse, roundPatient, status, new BigDecimal(2500 + i * 250));
+            }
+            data.booking(otherNurse, patient, BookingStatus.COMPLETED, new BigDecimal("9999.00"));
+        }
+        data.flushAndClear();
+    }
+
+    // ==================== DASHBOARD AGGREGATE ====================
+
+    @Test
+    void dashboardAggregateReplacesPerCardQueriesWithOneStatement() {
+        LocalDateTime since = LocalDateTime.now().minusDays(30);
+
+        AtomicReference<NurseBookingAggregate> aggregate = new AtomicReference<>();
+        long aggregateStatements = countStatements(() -> aggregate.set(bookingRepository.aggregateByNurse(nurse, since)));
+
+        // The per-card calls the dashboard used to make for the same figures
+        long[] counts = new long[4];
+        BigDecimal[] earnings = new BigDecimal[2];
+        long perCardStatements = countStatements(() -> {
+            counts[0] = bookingRepository.countByNurse(nurse);
+            counts[1] = bookingRepository.countByNurseAndStatus(nurse, BookingStatus.PENDING);
+            counts[2] = bookingRepository.countByNurseAndStatus(nurse, BookingStatus.ACCEPTED);
+            counts[3] = bookingRepository.countByNurseAndStatus(nurse, BookingStatus.COMPLETED);
+            earnings[0] = bookingRepository.calculateTotalEarnings(nurse);
+            earnings[1] = bookingRepository.calculateEarningsSince(nurse, since);
+        });
+
+        assertThat(aggregateStatements).isEqualTo(1);
+        assertThat(perCardStatements).isEqualTo(6);
+
+        NurseBookingAggregate result = aggregate.get();
+        assertThat(result.getTotalBookings()).isEqualTo(counts[0]).isEqualTo(24);
+        assertThat(result.getPendingBookings()).isEqualTo(counts[1]).isEqualTo(4);
+        assertThat(result.getAcceptedBookings()).isEqualTo(counts[2]).isEqualTo(4);
+        assertThat(result.getCompletedBookings()).isEqualTo(counts[3]).isEqualTo(4);
+        assertThat(result.getRejectedBookings()).isEqualTo(4);
+        assertThat(result.getInProgressBookings()).isEqualTo(4);
+        assertThat(result.getCancelledBookings()).isEqualTo(4);
+        assertThat(result.getTotalEarnings()).isEqualByComparingTo(earnings[0]).isEqualByComparingTo("11500");
+        assertThat(result.getEarningsSince()).isEqualByComparingTo(earnings[1]);
+    }
+
+    // ==================== PAGE LOADS ====================
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20})
+    void nurseBookingPageLoadsInFixedStatements(int pageSize) {
+        long statements = countStatements(() -> bookingRepository
+                .findByNurse(nurse, PageRequest.of(0, pageSize, Sort.by("createdAt")))
+                .forEach(BookingRepositoryTest::readLikeDto));
+
+        assertThat(statements).isLessThanOrEqualTo(PAGE_LOAD_STATEMENTS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20})
+    void nurseBookingPageByStatusLoadsInFixedStatements(int pageSize) {
+        long statements = countStatements(() -> bookingRepository
+                .findByNurseAndStatus(nurse, BookingStatus.PENDING, PageRequest.of(0, pageSize))
+                .forEach(BookingRepositoryTest::readLikeDto));
+
+        assertThat(statements).isLessThanOrEqualTo(PAGE_LOAD_STATEMENTS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 10})
+    void patientBookingPageLoadsInFixedStatements(int pageSize) {
+        long statements = countStatements(() -> bookingRepository
+                .findByPatient(patient, PageRequest.of(0, pageSize))
+                .forEach(BookingRepositoryTest::readLikeDto));
+
+        assertThat(statements).isLessThanOrEqualTo(PAGE_LOAD_STATEMENTS);
+    }
+
+    @Test
+    void bookingListViewPageIsSelectAndCount() {
+        long statements = countStatements(() -> bookingRepository.findListViewsByNurse(nurse, PageRequest.of(0, 5)));
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    // Everything convertToBookingDTO reads from the associations
+    private static void readLikeDto(BookingEntity booking) {
+        PatientEntity patient = booking.getPatient();
+        NurseEntity nurse = booking.getNurse();
+        assertThat(patient.getFullName()).isNotNull();
+        assertThat(patient.getEmail() + patient.getMobileNo()).isNotBlank();
+        assertThat(nurse.getFullName()).isNotNull();
+        assertThat(nurse.getEmail() + nurse.getMobileNo()).isNotBlank();
+        assertThat(nurse.getSpecializations()).isNotEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+package com.Sumanta.caremate.repository;
+
+import com.Sumanta.caremate.config.FlywayConfig;
+import com.Sumanta.caremate.support.PostgresIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An existing database whose schema Hibernate generated before migrations existed is baselined
+ * at V1 and must still receive every table and column added since. Runs outside a transaction
+ * because the migrations build indexes concurrently.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MigrationBaselineTest extends PostgresIntegrationTest {
+
+    private static final String LEGACY_DATABASE = "caremate_legacy";
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    DataSourceProperties dataSourceProperties;
+
+    DataSource legacyDataSource;
+
+    @BeforeEach
+    void createLegacyDatabase() {
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+        admin.execute("DROP DATABASE IF EXISTS " + LEGACY_DATABASE);
+        admin.execute("CREATE DATABASE " + LEGACY_DATABASE);
+
+        String url = dataSourceProperties.getUrl().replaceFirst("/[^/?]+(\\?|$)", "/" + LEGACY_DATABASE + "$1");
+        legacyDataSource = new DriverManagerDataSource(url, dataSourceProperties.getUsername(), dataSourceProperties.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(legacyDataSource);
+
+        JdbcTemplate legacy = new JdbcTemplate(legacyDataSource);
+        legacy.update("""
+                INSERT INTO nurses (full_name, mobile_no, email, password, profile_image1, profile_image2,
+                                    educational_qualification, years_of_experience, age, status, role, is_active, created_at)
+                VALUES ('Legacy Nurse', '9000000001', 'legacy.nurse@caremate.test', 'hash', 'a.jpg', 'b.jpg',
+                        'B.Sc Nursing', 5, 30, 'AVAILABLE', 'NURSE', true, now())
+                """);
+        legacy.update("""
+                INSERT INTO patients (full_name, mobile_no, email, password, hospital_report_image, age, category,
+                                      family_mobile_no, family_email, role, is_active, created_at)
+                VALUES ('Legacy Patient', '8000000001', 'legacy.patient@caremate.test', 'hash', 'r.pdf', 70,
+                        'FULL_BED_REST', '7000000001', 'family@caremate.test', 'PATIENT', true, now())
+                """);
+        legacy.update("""
+                INSERT INTO bookings (patient_id, nurse_id, start_date, end_date, total_amount, base_charge, status, created_at)
+                SELECT p.id, n.id, DATE '2024-03-01', DATE '2024-03-05', 3000, 3000, 'ACCEPTED', now()
+                FROM patients p, nurses n
+                """);
+    }
+
+    @AfterEach
+    void dropLegacyDatabase() {
+        new JdbcTemplate(dataSource).execute("DROP DATABASE IF EXISTS " + LEGACY_DATABASE);
+    }
+
+    @Test
+    void baselinedDatabaseReceivesEveryLaterMigration() {
+        FluentConfiguration configuration = Flyway.configure().dataSource(legacyDataSource);
+        new FlywayConfig().flywayBaselineCustomizer().customize(configuration);
+        configuration.load().migrate();
+
+        JdbcTemplate legacy = new JdbcTemplate(legacyDataSource);
+        List<String> tables = legacy.queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'", String.class);
+        assertThat(tables).contains("nurse_stats", "nurse_monthly_earnings", "user_accounts",
+                "email_outbox", "stored_blobs", "booking_events");
+
+        List<String> applied = legacy.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        assertThat(applied).containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12");
+
+        // The pre-existing row picks up the generated period and the version column
+        assertThat(legacy.queryForObject("SELECT upper(period) - lower(period) FROM bookings", Integer.class)).isEqualTo(5);
+        assertThat(legacy.queryForObject("SELECT version FROM bookings", Long.class)).isZero();
+
+        // Nurses that predate the stats triggers are backfilled from their bookings
+        assertThat(legacy.queryForObject("SELECT accepted_count FROM nurse_stats", Long.class)).isEqualTo(1);
+    }
+}
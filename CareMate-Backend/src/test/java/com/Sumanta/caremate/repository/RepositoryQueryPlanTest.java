@@ -0,0 +1,235 @@
+package com.Sumanta.caremate.repository;
+
+import com.Sumanta.caremate.entity.AvailabilityScheduleEntity;
+import com.Sumanta.caremate.entity.BookingEntity;
+import com.Sumanta.caremate.entity.NotificationEntity;
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.entity.PatientEntity;
+import com.Sumanta.caremate.entity.ReviewEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.enums.NurseStatus;
+import com.Sumanta.caremate.enums.UserRole;
+import com.Sumanta.caremate.support.PostgresIntegrationTest;
+import com.Sumanta.caremate.support.SqlCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every declared repository query over seeded data and explains each statement Hibernate
+ * sent. With sequential scans disabled the planner only falls back to one when no index can
+ * serve the predicate, so any "Seq Scan" in a plan is a missing index.
+ */
+class RepositoryQueryPlanTest extends PostgresIntegrationTest {
+
+    @FunctionalInterface
+    interface QueryCall {
+        void run(RepositoryQueryPlanTest test);
+    }
+
+    @Autowired AdminRepository adminRepository;
+    @Autowired AvailabilityScheduleRepository availabilityScheduleRepository;
+    @Autowired BookingRepository bookingRepository;
+    @Autowired EmailOutboxRepository emailOutboxRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired NurseMonthlyEarningsRepository nurseMonthlyEarningsRepository;
+    @Autowired NurseRepository nurseRepository;
+    @Autowired NurseStatsRepository nurseStatsRepository;
+    @Autowired PatientRepository patientRepository;
+    @Autowired ReviewRepository reviewRepository;
+    @Autowired StoredBlobRepository storedBlobRepository;
+    @Autowired DataSource dataSource;
+
+    NurseEntity nurse;
+    PatientEntity patient;
+    BookingEntity booking;
+    ReviewEntity review;
+    NotificationEntity notification;
+    AvailabilityScheduleEntity schedule;
+
+    final PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+    final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void seed() {
+        nurse = data.nurse();
+        NurseEntity otherNurse = data.nurse();
+        patient = data.patient();
+        for (BookingStatus status : BookingStatus.values()) {
+            data.booking(nurse, patient, status, new BigDecimal("2500.00"));
+            data.booking(otherNurse, patient, status, new BigDecimal("3000.00"));
+        }
+        booking = data.booking(nurse, patient, BookingStatus.COMPLETED, new BigDecimal("4500.00"));
+        review = data.review(booking, 5);
+        notification = data.notification(nurse.getId(), UserRole.NURSE, false);
+        data.notification(nurse.getId(), UserRole.NURSE, true);
+        schedule = data.schedule(nurse, DayOfWeek.MONDAY);
+        data.flushAndClear();
+    }
+
+    @ParameterizedTest
+    @MethodSource("queries")
+    void queryUsesIndexes(QueryCall call) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+
+        SqlCapture.clear();
+        call.run(this);
+        List<String> statements = SqlCapture.statements();
+
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            assertThat(explain(jdbcTemplate, sql)).as("plan for %s", sql).doesNotContain("Seq Scan");
+        }
+    }
+
+    static Stream<Named<QueryCall>> queries() {
+        return Stream.of(
+                // ==================== ADMIN ====================
+                query("AdminRepository.findByEmail", t -> t.adminRepository.findByEmail("admin@caremate.test")),
+                query("AdminRepository.existsByEmail", t -> t.adminRepository.existsByEmail("admin@caremate.test")),
+                query("AdminRepository.updatePasswordHash", t -> t.adminRepository.updatePasswordHash(1L, "old", "new")),
+
+                // ==================== AVAILABILITY ====================
+                query("AvailabilityScheduleRepository.findByNurseAndIsActive", t -> t.availabilityScheduleRepository.findByNurseAndIsActive(t.nurse, true)),
+                query("AvailabilityScheduleRepository.findByNurse", t -> t.availabilityScheduleRepository.findByNurse(t.nurse)),
+                query("AvailabilityScheduleRepository.findByIdAndNurse", t -> t.availabilityScheduleRepository.findByIdAndNurse(t.schedule.getId(), t.nurse)),
+                query("AvailabilityScheduleRepository.existsByNurseAndDayOfWeekAndIsActive", t -> t.availabilityScheduleRepository.existsByNurseAndDayOfWeekAndIsActive(t.nurse, DayOfWeek.MONDAY, true)),
+
+                // ==================== BOOKINGS ====================
+                query("BookingRepository.findByNurse", t -> t.bookingRepository.findByNurse(t.nurse, t.page)),
+                query("BookingRepository.findByNurseAndStatus", t -> t.bookingRepository.findByNurseAndStatus(t.nurse, BookingStatus.PENDING, t.page)),
+                query("BookingRepository.findListViewsByNurse", t -> t.bookingRepository.findListViewsByNurse(t.nurse, PageRequest.of(0, 10))),
+                query("BookingRepository.findListViewsByNurseAndStatus", t -> t.bookingRepository.findListViewsByNurseAndStatus(t.nurse, BookingStatus.PENDING, PageRequest.of(0, 10))),
+                query("BookingRepository.findListViewsByNurseBefore", t -> t.bookingRepository.findListViewsByNurseBefore(t.nurse, t.now, Long.MAX_VALUE, Limit.of(10))),
+                query("BookingRepository.findListViewsByNurseAndStatusBefore", t -> t.bookingRepository.findListViewsByNurseAndStatusBefore(t.nurse, BookingStatus.PENDING, t.now, Long.MAX_VALUE, Limit.of(10))),
+                query("BookingRepository.findByNurseAndStatusIn", t -> t.bookingRepository.findByNurseAndStatusIn(t.nurse, List.of(BookingStatus.ACCEPTED, BookingStatus.IN_PROGRESS))),
+                query("BookingRepository.findByIdAndNurse", t -> t.bookingRepository.findByIdAndNurse(t.booking.getId(), t.nurse)),
+                query("BookingRepository.countByNurse", t -> t.bookingRepository.countByNurse(t.nurse)),
+                query("BookingRepository.countByNurseAndStatus", t -> t.bookingRepository.countByNurseAndStatus(t.nurse, BookingStatus.PENDING)),
+                query("BookingRepository.findByPatient", t -> t.bookingRepository.findByPatient(t.patient, t.page)),
+                query("BookingRepository.findByPatientAndStatus", t -> t.bookingRepository.findByPatientAndStatus(t.patient, BookingStatus.PENDING, t.page)),
+                query("BookingRepository.findByIdAndPatient", t -> t.bookingRepository.findByIdAndPatient(t.booking.getId(), t.patient)),
+                query("BookingRepository.calculateTotalEarnings", t -> t.bookingRepository.calculateTotalEarnings(t.nurse)),
+                query("BookingRepository.calculateEarningsSince", t -> t.bookingRepository.calculateEarningsSince(t.nurse, t.now.minusDays(30))),
+                query("BookingRepository.calculateEarningsInRange", t -> t.bookingRepository.calculateEarningsInRange(t.nurse, t.now.minusDays(30), t.now)),
+                query("BookingRepository.countByNurseAndStatusAndCompletedAtAfter", t -> t.bookingRepository.countByNurseAndStatusAndCompletedAtAfter(t.nurse, BookingStatus.COMPLETED, t.now.minusDays(30))),
+                query("BookingRepository.countByNurseAndStatusAndCompletedAtBetween", t -> t.bookingRepository.countByNurseAndStatusAndCompletedAtBetween(t.nurse, BookingStatus.COMPLETED, t.now.minusDays(30), t.now)),
+                query("BookingRepository.aggregateByNurse", t -> t.bookingRepository.aggregateByNurse(t.nurse, t.now.minusDays(30))),
+                query("BookingRepository.aggregateMonthlyEarnings", t -> t.bookingRepository.aggregateMonthlyEarnings(t.nurse)),
+                query("BookingRepository.aggregateEarningsByPeriod", t -> t.bookingRepository.aggregateEarningsByPeriod(t.nurse.getId(), "month", t.now.minusYears(1), t.now)),
+                query("BookingRepository.markAccepted", t -> t.bookingRepository.markAccepted(t.booking.getId(), t.nurse.getId(), t.now, null)),
+                query("BookingRepository.markRejected", t -> t.bookingRepository.markRejected(t.booking.getId(), t.nurse.getId(), t.now, "Unavailable")),
+                query("BookingRepository.markCompleted", t -> t.bookingRepository.markCompleted(t.booking.getId(), t.nurse.getId(), BookingStatus.IN_PROGRESS, t.now)),
+                query("BookingRepository.markStatus", t -> t.bookingRepository.markStatus(t.booking.getId(), BookingStatus.PENDING, BookingStatus.CANCELLED, t.now)),
+                query("BookingRepository.findListViewById", t -> t.bookingRepository.findListViewById(t.booking.getId())),
+                query("BookingRepository.hasOverlappingBookings", t -> t.bookingRepository.hasOverlappingBookings(t.nurse.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31))),
+
+                // ==================== EMAIL OUTBOX ====================
+                query("EmailOutboxRepository.claimDue", t -> t.emailOutboxRepository.claimDue(t.now, 10)),
+                query("EmailOutboxRepository.markSent", t -> t.emailOutboxRepository.markSent(List.of(1L, 2L), t.now)),
+                query("EmailOutboxRepository.deleteSentBefore", t -> t.emailOutboxRepository.deleteSentBefore(t.now.minusDays(7))),
+
+                // ==================== NOTIFICATIONS ====================
+                query("NotificationRepository.findByUserIdAndUserRoleOrderByCreatedAtDesc", t -> t.notificationRepository.findByUserIdAndUserRoleOrderByCreatedAtDesc(t.nurse.getId(), UserRole.NURSE, PageRequest.of(0, 10))),
+                query("NotificationRepository.findByUserIdAndUserRoleAndIsReadOrderByCreatedAtDesc", t -> t.notificationRepository.findByUserIdAndUserRoleAndIsReadOrderByCreatedAtDesc(t.nurse.getId(), UserRole.NURSE, false, PageRequest.of(0, 10))),
+                query("NotificationRepository.findByUserIdAndUserRoleBefore", t -> t.notificationRepository.findByUserIdAndUserRoleBefore(t.nurse.getId(), UserRole.NURSE, t.now, Long.MAX_VALUE, Limit.of(10))),
+                query("NotificationRepository.findByUserIdAndUserRoleAndIsReadBefore", t -> t.notificationRepository.findByUserIdAndUserRoleAndIsReadBefore(t.nurse.getId(), UserRole.NURSE, false, t.now, Long.MAX_VALUE, Limit.of(10))),
+                query("NotificationRepository.countByUserIdAndUserRoleAndIsRead", t -> t.notificationRepository.countByUserIdAndUserRoleAndIsRead(t.nurse.getId(), UserRole.NURSE, false)),
+                query("NotificationRepository.findByIdAndUserIdAndUserRole", t -> t.notificationRepository.findByIdAndUserIdAndUserRole(t.notification.getId(), t.nurse.getId(), UserRole.NURSE)),
+
+                // ==================== NURSE STATS ====================
+                query("NurseMonthlyEarningsRepository.findByNurseIdAndYearAndMonth", t -> t.nurseMonthlyEarningsRepository.findByNurseIdAndYearAndMonth(t.nurse.getId(), 2024, 1)),
+                query("NurseMonthlyEarningsRepository.deleteByNurseId", t -> t.nurseMonthlyEarningsRepository.deleteByNurseId(t.nurse.getId())),
+                query("NurseStatsRepository.findByIdForUpdate", t -> t.nurseStatsRepository.findByIdForUpdate(t.nurse.getId())),
+                query("NurseStatsRepository.insertIfAbsent", t -> t.nurseStatsRepository.insertIfAbsent(t.nurse.getId())),
+
+                // ==================== NURSES ====================
+                query("NurseRepository.findByEmail", t -> t.nurseRepository.findByEmail(t.nurse.getEmail())),
+                query("NurseRepository.findByMobileNo", t -> t.nurseRepository.findByMobileNo(t.nurse.getMobileNo())),
+                query("NurseRepository.findByFullNameAndMobileNoAndEmail", t -> t.nurseRepository.findByFullNameAndMobileNoAndEmail(t.nurse.getFullName(), t.nurse.getMobileNo(), t.nurse.getEmail())),
+                query("NurseRepository.existsByEmail", t -> t.nurseRepository.existsByEmail(t.nurse.getEmail())),
+                query("NurseRepository.existsByMobileNo", t -> t.nurseRepository.existsByMobileNo(t.nurse.getMobileNo())),
+                query("NurseRepository.updateStatus", t -> t.nurseRepository.updateStatus(t.nurse.getId(), NurseStatus.ON_DUTY)),
+                query("NurseRepository.releaseFromDuty", t -> t.nurseRepository.releaseFromDuty(t.nurse.getId(), NurseStatus.ON_DUTY, NurseStatus.AVAILABLE)),
+                query("NurseRepository.updatePasswordHash", t -> t.nurseRepository.updatePasswordHash(t.nurse.getId(), "old", "new")),
+                query("NurseRepository.existsByProfileImage", t -> t.nurseRepository.existsByProfileImage(t.nurse.getProfileImage1())),
+                query("NurseRepository.findListViews", t -> t.nurseRepository.findListViews(PageRequest.of(0, 10))),
+                query("NurseRepository.findSpecializations", t -> t.nurseRepository.findSpecializations(List.of(t.nurse.getId()))),
+
+                // ==================== PATIENTS ====================
+                query("PatientRepository.findByEmail", t -> t.patientRepository.findByEmail(t.patient.getEmail())),
+                query("PatientRepository.findByMobileNo", t -> t.patientRepository.findByMobileNo(t.patient.getMobileNo())),
+                query("PatientRepository.findByFullNameAndMobileNoAndEmail", t -> t.patientRepository.findByFullNameAndMobileNoAndEmail(t.patient.getFullName(), t.patient.getMobileNo(), t.patient.getEmail())),
+                query("PatientRepository.existsByEmail", t -> t.patientRepository.existsByEmail(t.patient.getEmail())),
+                query("PatientRepository.existsByMobileNo", t -> t.patientRepository.existsByMobileNo(t.patient.getMobileNo())),
+                query("PatientRepository.updatePasswordHash", t -> t.patientRepository.updatePasswordHash(t.patient.getId(), "old", "new")),
+
+                // ==================== REVIEWS ====================
+                query("ReviewRepository.findByNurse", t -> t.reviewRepository.findByNurse(t.nurse, t.page)),
+                query("ReviewRepository.findListViewsByNurse", t -> t.reviewRepository.findListViewsByNurse(t.nurse, PageRequest.of(0, 10))),
+                query("ReviewRepository.findListViewsByNurseBefore", t -> t.reviewRepository.findListViewsByNurseBefore(t.nurse, t.now, Long.MAX_VALUE, Limit.of(10))),
+                query("ReviewRepository.findByIdAndNurse", t -> t.reviewRepository.findByIdAndNurse(t.review.getId(), t.nurse)),
+                query("ReviewRepository.countByNurse", t -> t.reviewRepository.countByNurse(t.nurse)),
+                query("ReviewRepository.calculateAverageRating", t -> t.reviewRepository.calculateAverageRating(t.nurse)),
+                query("ReviewRepository.countByNurseAndRating", t -> t.reviewRepository.countByNurseAndRating(t.nurse, 5)),
+                query("ReviewRepository.aggregateRatingHistogram", t -> t.reviewRepository.aggregateRatingHistogram(t.nurse)),
+                query("ReviewRepository.findByPatient", t -> t.reviewRepository.findByPatient(t.patient, t.page)),
+                query("ReviewRepository.findByIdAndPatient", t -> t.reviewRepository.findByIdAndPatient(t.review.getId(), t.patient)),
+                query("ReviewRepository.existsByBookingId", t -> t.reviewRepository.existsByBookingId(t.booking.getId())),
+
+                // ==================== STORED BLOBS ====================
+                query("StoredBlobRepository.addReference", t -> t.storedBlobRepository.addReference("uploads/blobs/abc.jpg", 1024)),
+                query("StoredBlobRepository.findForUpdate", t -> t.storedBlobRepository.findForUpdate("uploads/blobs/abc.jpg")),
+                query("StoredBlobRepository.lockPath", t -> t.storedBlobRepository.lockPath("uploads/blobs/abc.jpg"))
+        );
+    }
+
+    private static Named<QueryCall> query(String name, QueryCall call) {
+        return Named.of(name, call);
+    }
+
+    // The statement is prepared with $1, $2, ... in place of the JDBC placeholders and explained
+    // as a generic plan, so the plan holds for any bound values rather than the ones seeded here
+    private static String explain(JdbcTemplate jdbcTemplate, String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+
+        jdbcTemplate.execute("PREPARE plan_check AS " + numbered);
+        try {
+            String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE plan_check" + arguments, String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.Sumanta.caremate.repository;
+
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.entity.PatientEntity;
+import com.Sumanta.caremate.entity.ReviewEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.repository.projection.RatingHistogramRow;
+import com.Sumanta.caremate.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ReviewRepositoryTest extends PostgresIntegrationTest {
+
+    // Page select, count, and one batched select for the nurses' specializations
+    private static final long PAGE_LOAD_STATEMENTS = 3;
+
+    @Autowired
+    ReviewRepository reviewRepository;
+
+    NurseEntity nurse;
+    PatientEntity patient;
+
+    @BeforeEach
+    void seed() {
+        nurse = data.nurse();
+        NurseEntity otherNurse = data.nurse();
+        patient = data.patient();
+        // 1 one-star, 2 two-star, ... 5 five-star reviews; four-star is left empty
+        for (int rating = 1; rating <= 5; rating++) {
+            for (int i = 0; i < rating && rating != 4; i++) {
+                data.review(data.booking(nurse, patient, BookingStatus.COMPLETED, new BigDecimal("2500.00")), rating);
+            }
+            data.review(data.booking(otherNurse, patient, BookingStatus.COMPLETED, new BigDecimal("2500.00")), rating);
+        }
+        data.flushAndClear();
+    }
+
+    // ==================== RATING HISTOGRAM ====================
+
+    @Test
+    void ratingHistogramReplacesSevenScansWithOneStatement() {
+        List<RatingHistogramRow> histogram = new ArrayList<>();
+        long histogramStatements = countStatements(() -> histogram.addAll(reviewRepository.aggregateRatingHistogram(nurse)));
+
+        // The per-figure calls review stats used to make
+        Map<Integer, Long> perRating = new HashMap<>();
+        Object[] totals = new Object[2];
+        long perFigureStatements = countStatements(() -> {
+            totals[0] = reviewRepository.calculateAverageRating(nurse);
+            totals[1] = reviewRepository.countByNurse(nurse);
+            for (int rating = 1; rating <= 5; rating++) {
+                perRating.put(rating, reviewRepository.countByNurseAndRating(nurse, rating));
+            }
+        });
+
+        assertThat(histogramStatements).isEqualTo(1);
+        assertThat(perFigureStatements).isEqualTo(7);
+
+        Map<Integer, Long> histogramCounts = new HashMap<>();
+        long reviewCount = 0;
+        long ratingSum = 0;
+        for (RatingHistogramRow row : histogram) {
+            histogramCounts.put(row.getRating(), row.getReviewCount());
+            reviewCount += row.getReviewCount();
+            ratingSum += row.getRatingSum();
+        }
+        // Empty star values have no row
+        assertThat(histogramCounts).isEqualTo(Map.of(1, 1L, 2, 2L, 3, 3L, 5, 5L));
+        perRating.forEach((rating, count) -> assertThat(histogramCounts.getOrDefault(rating, 0L)).isEqualTo(count));
+        assertThat(reviewCount).isEqualTo(totals[1]).isEqualTo(11L);
+        assertThat((double) ratingSum / reviewCount).isCloseTo((Double) totals[0], within(1e-9));
+    }
+
+    // ==================== PAGE LOADS ====================
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 11})
+    void nurseReviewPageLoadsInFixedStatements(int pageSize) {
+        long statements = countStatements(() -> reviewRepository
+                .findByNurse(nurse, PageRequest.of(0, pageSize))
+                .forEach(ReviewRepositoryTest::readLikeDto));
+
+        assertThat(statements).isLessThanOrEqualTo(PAGE_LOAD_STATEMENTS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 16})
+    void patientReviewPageLoadsInFixedStatements(int pageSize) {
+        long statements = countStatements(() -> reviewRepository
+                .findByPatient(patient, PageRequest.of(0, pageSize))
+                .forEach(ReviewRepositoryTest::readLikeDto));
+
+        assertThat(statements).isLessThanOrEqualTo(PAGE_LOAD_STATEMENTS);
+    }
+
+    // Everything convertToReviewDTO reads; the booking is only read for its id
+    private static void readLikeDto(ReviewEntity review) {
+        assertThat(review.getBooking().getId()).isNotNull();
+        assertThat(review.getPatient().getFullName()).isNotNull();
+        assertThat(review.getNurse().getFullName()).isNotNull();
+        assertThat(review.getNurse().getSpecializations()).isNotEmpty();
+    }
+}
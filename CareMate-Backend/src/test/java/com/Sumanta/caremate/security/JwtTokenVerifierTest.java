@@ -0,0 +1,91 @@
+package com.Sumanta.caremate.security;
+
+import com.Sumanta.caremate.enums.UserRole;
+import com.Sumanta.caremate.util.JWTUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("caremate-test-signing-key-of-at-least-32-bytes".getBytes());
+
+    private JWTUtil jwtUtil(long expirationMs) {
+        JWTUtil jwtUtil = spy(new JWTUtil());
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    @Test
+    void repeatedTokenIsParsedOnce() {
+        JWTUtil jwtUtil = jwtUtil(60_000);
+        JwtTokenVerifier verifier = new JwtTokenVerifier(jwtUtil, 16);
+        String token = jwtUtil.generateToken("nurse@caremate.test", 7L, UserRole.NURSE);
+
+        Claims first = verifier.verify(token);
+        Claims second = verifier.verify(token);
+        Claims third = verifier.verify(token);
+
+        verify(jwtUtil, times(1)).parseToken(anyString());
+        assertThat(first.getSubject()).isEqualTo("nurse@caremate.test");
+        assertThat(second).isSameAs(first);
+        assertThat(third).isSameAs(first);
+        assertThat(first.get(JWTUtil.USER_ID_CLAIM, Long.class)).isEqualTo(7L);
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEveryTime() {
+        JWTUtil jwtUtil = jwtUtil(60_000);
+        JwtTokenVerifier verifier = new JwtTokenVerifier(jwtUtil, 16);
+        String token = jwtUtil.generateToken("nurse@caremate.test", 7L, UserRole.NURSE);
+        verifier.verify(token);
+
+        // Same header and claims, different signature
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1) + "AAAA" + token.substring(token.lastIndexOf('.') + 5);
+
+        assertThatThrownBy(() -> verifier.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> verifier.verify(tampered)).isInstanceOf(JwtException.class);
+        verify(jwtUtil, times(3)).parseToken(anyString());
+    }
+
+    @Test
+    void expiredCachedTokenIsVerifiedAgain() throws InterruptedException {
+        JWTUtil jwtUtil = jwtUtil(2_000);
+        JwtTokenVerifier verifier = new JwtTokenVerifier(jwtUtil, 16);
+        String token = jwtUtil.generateToken("nurse@caremate.test", 7L, UserRole.NURSE);
+        verifier.verify(token);
+
+        Thread.sleep(2_100);
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        verify(jwtUtil, times(2)).parseToken(anyString());
+    }
+
+    @Test
+    void leastRecentlyUsedTokenIsEvicted() {
+        JWTUtil jwtUtil = jwtUtil(60_000);
+        JwtTokenVerifier verifier = new JwtTokenVerifier(jwtUtil, 1);
+        String nurseToken = jwtUtil.generateToken("nurse@caremate.test", 7L, UserRole.NURSE);
+        String patientToken = jwtUtil.generateToken("patient@caremate.test", 9L, UserRole.PATIENT);
+
+        verifier.verify(nurseToken);
+        verifier.verify(patientToken);
+        verifier.verify(nurseToken);
+
+        verify(jwtUtil, times(3)).parseToken(anyString());
+    }
+}
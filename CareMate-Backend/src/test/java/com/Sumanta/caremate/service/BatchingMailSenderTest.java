@@ -0,0 +1,111 @@
+package com.Sumanta.caremate.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchingMailSenderTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JavaMailSenderImpl mailSender;
+    private BatchingMailSender batchingMailSender;
+
+    @BeforeEach
+    void setUp() {
+        // Counts the SMTP connections JavaMailSenderImpl opens
+        mailSender = new JavaMailSenderImpl() {
+            @Override
+            protected Transport connectTransport() throws MessagingException {
+                connections.incrementAndGet();
+                return super.connectTransport();
+            }
+        };
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        batchingMailSender = new BatchingMailSender(mailSender, meterRegistry);
+    }
+
+    // ==================== BATCHING ====================
+
+    @Test
+    void eachBatchIsDeliveredOverOneConnection() throws MessagingException {
+        assertThat(batchingMailSender.send(List.of(message("a@caremate.test"), message("b@caremate.test"),
+                message("c@caremate.test")))).isEmpty();
+        assertThat(connections).hasValue(1);
+
+        assertThat(batchingMailSender.send(List.of(message("d@caremate.test"), message("e@caremate.test")))).isEmpty();
+        assertThat(connections).hasValue(2);
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(meterRegistry.get("mail.batch.size").summary().totalAmount()).isEqualTo(5);
+    }
+
+    @Test
+    void emptyBatchOpensNoConnection() {
+        assertThat(batchingMailSender.send(List.of())).isEmpty();
+
+        assertThat(connections).hasValue(0);
+    }
+
+    // ==================== FAILURES ====================
+
+    @Test
+    void failedMessageIsReportedAloneWithItsCause() throws MessagingException {
+        MimeMessage first = message("a@caremate.test");
+        MimeMessage unaddressed = mailSender.createMimeMessage();
+        unaddressed.setFrom("noreply@caremate.test");
+        unaddressed.setText("No recipients");
+        MimeMessage last = message("c@caremate.test");
+
+        Map<MimeMessage, Exception> failures = batchingMailSender.send(List.of(first, unaddressed, last));
+
+        // MailSendException.getFailedMessages names only the message that failed; the rest still went out
+        assertThat(failures).containsOnlyKeys(unaddressed);
+        assertThat(failures.get(unaddressed)).isInstanceOf(SendFailedException.class);
+        assertThat(connections).hasValue(1);
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+    }
+
+    @Test
+    void connectionFailureFailsTheWholeBatch() throws MessagingException {
+        MimeMessage first = message("a@caremate.test");
+        MimeMessage second = message("b@caremate.test");
+        greenMail.stop();
+
+        Map<MimeMessage, Exception> failures = batchingMailSender.send(List.of(first, second));
+
+        assertThat(failures).containsOnlyKeys(first, second);
+        // Spring reports the connect failure against every message, not as an empty failure map
+        assertThat(failures.values()).allSatisfy(cause -> assertThat(cause).isInstanceOf(MessagingException.class));
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("noreply@caremate.test");
+        helper.setTo(to);
+        helper.setSubject("CareMate - booking update");
+        helper.setText("<p>Your booking was updated</p>", true);
+        return message;
+    }
+}
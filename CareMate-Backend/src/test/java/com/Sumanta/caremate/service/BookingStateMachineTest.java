@@ -0,0 +1,180 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.config.ResilienceConfig;
+import com.Sumanta.caremate.entity.BookingEntity;
+import com.Sumanta.caremate.entity.BookingEventEntity;
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.entity.PatientEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.enums.UserRole;
+import com.Sumanta.caremate.event.BookingStatusChangedEvent;
+import com.Sumanta.caremate.repository.BookingEventRepository;
+import com.Sumanta.caremate.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.Sumanta.caremate.enums.BookingStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingStateMachineTest {
+
+    // Expected table, written out independently of BookingStateMachine.TRANSITIONS
+    private static final Map<BookingStatus, Set<BookingStatus>> ALLOWED = Map.of(
+            PENDING, EnumSet.of(ACCEPTED, REJECTED, CANCELLED),
+            ACCEPTED, EnumSet.of(IN_PROGRESS, COMPLETED, CANCELLED),
+            IN_PROGRESS, EnumSet.of(COMPLETED),
+            REJECTED, EnumSet.noneOf(BookingStatus.class),
+            COMPLETED, EnumSet.noneOf(BookingStatus.class),
+            CANCELLED, EnumSet.noneOf(BookingStatus.class));
+
+    private BookingRepository bookingRepository;
+    private BookingEventRepository bookingEventRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private BookingStateMachine stateMachine;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        bookingEventRepository = mock(BookingEventRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        stateMachine = new BookingStateMachine(bookingRepository, bookingEventRepository, eventPublisher,
+                transactionTemplate, new ResilienceConfig().bookingTransitionRetry(3, Duration.ofMillis(1)));
+    }
+
+    // ==================== TRANSITION TABLE ====================
+
+    static Stream<Arguments> allTransitions() {
+        return Arrays.stream(BookingStatus.values()).flatMap(from -> Arrays.stream(BookingStatus.values())
+                .map(to -> Arguments.of(from, to, ALLOWED.get(from).contains(to))));
+    }
+
+    @ParameterizedTest(name = "{0} -> {1} allowed: {2}")
+    @MethodSource("allTransitions")
+    void transitionTable(BookingStatus from, BookingStatus to, boolean allowed) {
+        assertThat(stateMachine.canTransition(from, to)).isEqualTo(allowed);
+        if (allowed) {
+            stateMachine.requireTransition(from, to);
+        } else {
+            assertThatThrownBy(() -> stateMachine.requireTransition(from, to))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Booking cannot be moved from " + from + " to " + to);
+        }
+    }
+
+    @Test
+    void rejectedTransitionNeverRunsTheUpdate() {
+        AtomicInteger updates = new AtomicInteger();
+
+        assertThatThrownBy(() -> stateMachine.transition(booking(COMPLETED), CANCELLED, UserRole.PATIENT, 9L, null,
+                updates::incrementAndGet))
+                .hasMessage("Booking cannot be moved from COMPLETED to CANCELLED");
+
+        assertThat(updates).hasValue(0);
+        verify(bookingEventRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    // ==================== CONFLICTS ====================
+
+    @Test
+    void lostConditionalUpdateIsAnOptimisticLockingFailure() {
+        assertThatThrownBy(() -> stateMachine.transition(booking(PENDING), ACCEPTED, UserRole.NURSE, 7L, null, () -> 0))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(bookingEventRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void lostRaceIsRetriedFromAFreshRead() {
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking(ACCEPTED)));
+        AtomicInteger attempts = new AtomicInteger();
+
+        BookingEntity result = stateMachine.inTransaction(() -> {
+            // First attempt loses the conditional update, the retry wins it
+            int updated = attempts.incrementAndGet() == 1 ? 0 : 1;
+            return stateMachine.transition(booking(PENDING), ACCEPTED, UserRole.NURSE, 7L, "ok", () -> updated);
+        });
+
+        assertThat(attempts).hasValue(2);
+        assertThat(result.getStatus()).isEqualTo(ACCEPTED);
+        verify(bookingEventRepository).save(any());
+    }
+
+    @Test
+    void retriesGiveUpAfterTheConfiguredAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> stateMachine.inTransaction(() -> {
+            attempts.incrementAndGet();
+            return stateMachine.transition(booking(PENDING), ACCEPTED, UserRole.NURSE, 7L, null, () -> 0);
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    // ==================== EVENT LOG ====================
+
+    @Test
+    void appliedTransitionIsLoggedAndPublished() {
+        BookingEntity stored = booking(COMPLETED);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(stored));
+
+        stateMachine.transition(booking(IN_PROGRESS), COMPLETED, UserRole.NURSE, 7L, "done", () -> 1);
+
+        ArgumentCaptor<BookingEventEntity> logged = ArgumentCaptor.forClass(BookingEventEntity.class);
+        verify(bookingEventRepository).save(logged.capture());
+        assertThat(logged.getValue().getBookingId()).isEqualTo(1L);
+        assertThat(logged.getValue().getNurseId()).isEqualTo(7L);
+        assertThat(logged.getValue().getFromStatus()).isEqualTo(IN_PROGRESS);
+        assertThat(logged.getValue().getToStatus()).isEqualTo(COMPLETED);
+        assertThat(logged.getValue().getActorRole()).isEqualTo(UserRole.NURSE);
+        assertThat(logged.getValue().getNote()).isEqualTo("done");
+
+        ArgumentCaptor<BookingStatusChangedEvent> published = ArgumentCaptor.forClass(BookingStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertThat(published.getValue().patientId()).isEqualTo(9L);
+        assertThat(published.getValue().totalAmount()).isEqualByComparingTo("2500");
+    }
+
+    private static BookingEntity booking(BookingStatus status) {
+        NurseEntity nurse = new NurseEntity();
+        nurse.setId(7L);
+        PatientEntity patient = new PatientEntity();
+        patient.setId(9L);
+        BookingEntity booking = new BookingEntity();
+        booking.setId(1L);
+        booking.setNurse(nurse);
+        booking.setPatient(patient);
+        booking.setStatus(status);
+        booking.setTotalAmount(new BigDecimal("2500.00"));
+        return booking;
+    }
+}
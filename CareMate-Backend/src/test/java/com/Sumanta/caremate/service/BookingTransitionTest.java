@@ -0,0 +1,302 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.config.ResilienceConfig;
+import com.Sumanta.caremate.dto.BookingActionRequest;
+import com.Sumanta.caremate.dto.BookingDTO;
+import com.Sumanta.caremate.entity.BookingEntity;
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.entity.PatientEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.enums.NurseStatus;
+import com.Sumanta.caremate.repository.BookingRepository;
+import com.Sumanta.caremate.repository.NurseRepository;
+import com.Sumanta.caremate.security.PasswordHashingService;
+import com.Sumanta.caremate.security.UserDirectoryService;
+import com.Sumanta.caremate.support.PostgresIntegrationTest;
+import com.Sumanta.caremate.util.JWTUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import({NurseService.class, BookingStateMachine.class, NurseStatsService.class, ResilienceConfig.class})
+class BookingTransitionTest extends PostgresIntegrationTest {
+
+    private static final String OVERLAPPING_BOOKING_MESSAGE = "You already have an accepted booking overlapping these dates";
+
+    @MockitoBean FileStorageService fileStorageService;
+    @MockitoBean ImageService imageService;
+    @MockitoBean EmailOutboxService emailOutboxService;
+    @MockitoBean NotificationService notificationService;
+    @MockitoBean JWTUtil jwtUtil;
+    @MockitoBean UserDirectoryService userDirectoryService;
+    @MockitoBean PasswordHashingService passwordHashingService;
+
+    @Autowired
+    NurseService nurseService;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    NurseRepository nurseRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    // ==================== NURSE TRANSITIONS ====================
+
+    @Test
+    void acceptAndCompleteBooking() {
+        NurseEntity nurse = data.nurse();
+        PatientEntity patient = data.patient();
+        BookingEntity booking = data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00"));
+        data.flushAndClear();
+
+        BookingDTO accepted = nurseService.acceptBooking(nurse.getId(), booking.getId(), notes("On my way"));
+
+        assertThat(accepted.getStatus()).isEqualTo(BookingStatus.ACCEPTED);
+        assertThat(accepted.getPatientName()).isEqualTo(patient.getFullName());
+        assertThat(accepted.getNurseName()).isEqualTo(nurse.getFullName());
+        assertThat(accepted.getNurseNotes()).isEqualTo("On my way");
+        assertThat(accepted.getAcceptedAt()).isNotNull();
+        assertThat(nurseStatus(nurse)).isEqualTo(NurseStatus.ON_DUTY);
+
+        BookingDTO completed = nurseService.completeBooking(nurse.getId(), booking.getId());
+
+        assertThat(completed.getStatus()).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(completed.getPatientName()).isEqualTo(patient.getFullName());
+        assertThat(completed.getCompletedAt()).isNotNull();
+        assertThat(nurseStatus(nurse)).isEqualTo(NurseStatus.AVAILABLE);
+        assertThat(events(booking.getId())).containsExactly("PENDING>ACCEPTED", "ACCEPTED>COMPLETED");
+    }
+
+    @Test
+    void startedBookingCompletesThroughInProgress() {
+        NurseEntity nurse = data.nurse();
+        BookingEntity booking = data.booking(nurse, data.patient(), BookingStatus.PENDING, new BigDecimal("2500.00"));
+        data.flushAndClear();
+
+        nurseService.acceptBooking(nurse.getId(), booking.getId(), notes(null));
+        assertThat(nurseService.startBooking(nurse.getId(), booking.getId()).getStatus()).isEqualTo(BookingStatus.IN_PROGRESS);
+        assertThat(nurseService.completeBooking(nurse.getId(), booking.getId()).getStatus()).isEqualTo(BookingStatus.COMPLETED);
+
+        assertThat(events(booking.getId()))
+                .containsExactly("PENDING>ACCEPTED", "ACCEPTED>IN_PROGRESS", "IN_PROGRESS>COMPLETED");
+    }
+
+    @Test
+    void completingWhileAnotherBookingIsActiveKeepsNurseOnDuty() {
+        NurseEntity nurse = data.nurse();
+        PatientEntity patient = data.patient();
+        BookingEntity first = data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00"));
+        BookingEntity second = data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00"));
+        data.flushAndClear();
+
+        nurseService.acceptBooking(nurse.getId(), first.getId(), notes(null));
+        nurseService.acceptBooking(nurse.getId(), second.getId(), notes(null));
+        nurseService.completeBooking(nurse.getId(), first.getId());
+
+        assertThat(nurseStatus(nurse)).isEqualTo(NurseStatus.ON_DUTY);
+    }
+
+    @Test
+    void transitionsTouchUpdatedAt() {
+        NurseEntity nurse = data.nurse();
+        BookingEntity booking = data.booking(nurse, data.patient(), BookingStatus.PENDING, new BigDecimal("2500.00"));
+        data.flushAndClear();
+        LocalDateTime created = bookingRepository.findById(booking.getId()).orElseThrow().getUpdatedAt();
+
+        nurseService.acceptBooking(nurse.getId(), booking.getId(), notes(null));
+        LocalDateTime accepted = bookingRepository.findById(booking.getId()).orElseThrow().getUpdatedAt();
+        nurseService.startBooking(nurse.getId(), booking.getId());
+        LocalDateTime started = bookingRepository.findById(booking.getId()).orElseThrow().getUpdatedAt();
+
+        assertThat(accepted).isAfter(created);
+        assertThat(started).isAfter(accepted);
+    }
+
+    @Test
+    void illegalTransitionChangesNothing() {
+        NurseEntity nurse = data.nurse();
+        BookingEntity booking = data.booking(nurse, data.patient(), BookingStatus.PENDING, new BigDecimal("2500.00"));
+        data.flushAndClear();
+
+        assertThatThrownBy(() -> nurseService.completeBooking(nurse.getId(), booking.getId()))
+                .hasMessage("Booking cannot be moved from PENDING to COMPLETED");
+
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.PENDING);
+        assertThat(events(booking.getId())).isEmpty();
+    }
+
+    // ==================== CONCURRENCY ====================
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentAcceptsOfOneBookingApplyOnce() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        NurseEntity nurse = transaction.execute(status -> data.nurse());
+        PatientEntity patient = transaction.execute(status -> data.patient());
+        BookingEntity booking = transaction.execute(status ->
+                data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00")));
+
+        int nurses = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(nurses);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<BookingDTO>> accepts = new ArrayList<>();
+            for (int i = 0; i < nurses; i++) {
+                accepts.add(executor.submit(() -> {
+                    start.await();
+                    return nurseService.acceptBooking(nurse.getId(), booking.getId(), notes(null));
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<BookingDTO> accept : accepts) {
+                try {
+                    assertThat(accept.get().getStatus()).isEqualTo(BookingStatus.ACCEPTED);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    // Losers re-read the accepted booking on retry and fail validation
+                    assertThat(e.getCause()).hasMessage("Booking cannot be moved from ACCEPTED to ACCEPTED");
+                }
+            }
+            assertThat(succeeded).isEqualTo(1);
+            assertThat(events(booking.getId())).containsExactly("PENDING>ACCEPTED");
+        } finally {
+            executor.shutdownNow();
+            deleteCommitted(nurse.getId(), patient.getId());
+        }
+    }
+
+    // ==================== OVERLAPPING ACCEPTS ====================
+
+    @Test
+    void overlappingAcceptIsRefusedByTheProbe() {
+        NurseEntity nurse = data.nurse();
+        PatientEntity patient = data.patient();
+        BookingEntity first = overlapping(data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00")), 10, 14);
+        BookingEntity second = overlapping(data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00")), 14, 18);
+        data.flushAndClear();
+
+        nurseService.acceptBooking(nurse.getId(), first.getId(), notes(null));
+
+        assertThatThrownBy(() -> nurseService.acceptBooking(nurse.getId(), second.getId(), notes(null)))
+                .hasMessage(OVERLAPPING_BOOKING_MESSAGE);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void overlappingAcceptPastTheProbeHitsTheExclusionConstraint() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        NurseEntity nurse = transaction.execute(status -> data.nurse());
+        PatientEntity patient = transaction.execute(status -> data.patient());
+        BookingEntity first = transaction.execute(status ->
+                overlapping(data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00")), 10, 14));
+        BookingEntity second = transaction.execute(status ->
+                overlapping(data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00")), 12, 16));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection concurrentAccept = dataSource.getConnection()) {
+            // An accept of the first booking that has not committed yet, so the probe cannot see it
+            concurrentAccept.setAutoCommit(false);
+            try (PreparedStatement update = concurrentAccept.prepareStatement(
+                    "UPDATE bookings SET status = 'ACCEPTED' WHERE id = ?")) {
+                update.setLong(1, first.getId());
+                update.executeUpdate();
+            }
+
+            Future<BookingDTO> accept = executor.submit(() ->
+                    nurseService.acceptBooking(nurse.getId(), second.getId(), notes(null)));
+            awaitLockWait(accept);
+            concurrentAccept.commit();
+
+            assertThatThrownBy(accept::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .hasMessage(OVERLAPPING_BOOKING_MESSAGE)
+                    .rootCause()
+                    .hasMessageContaining("ex_bookings_nurse_active_period");
+            assertThat(bookingRepository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.PENDING);
+            assertThat(events(second.getId())).isEmpty();
+        } finally {
+            executor.shutdownNow();
+            deleteCommitted(nurse.getId(), patient.getId());
+        }
+    }
+
+    private static BookingEntity overlapping(BookingEntity booking, int startDay, int endDay) {
+        booking.setStartDate(LocalDate.of(2030, 1, startDay));
+        booking.setEndDate(LocalDate.of(2030, 1, endDay));
+        return booking;
+    }
+
+    // Waits until the accept is blocked on the uncommitted row instead of sleeping for a guess
+    private void awaitLockWait(Future<?> accept) throws InterruptedException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int i = 0; i < 200 && !accept.isDone(); i++) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND datname = current_database()",
+                    Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Accept never waited on the concurrent accept");
+    }
+
+    private static BookingActionRequest notes(String notes) {
+        BookingActionRequest request = new BookingActionRequest();
+        request.setNotes(notes);
+        return request;
+    }
+
+    private NurseStatus nurseStatus(NurseEntity nurse) {
+        return nurseRepository.findById(nurse.getId()).orElseThrow().getStatus();
+    }
+
+    private List<String> events(Long bookingId) {
+        return new JdbcTemplate(dataSource).queryForList(
+                "SELECT from_status || '>' || to_status FROM booking_events WHERE booking_id = ? ORDER BY id",
+                String.class, bookingId);
+    }
+
+    private void deleteCommitted(Long nurseId, Long patientId) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM booking_events WHERE nurse_id = ?", nurseId);
+        jdbcTemplate.update("DELETE FROM nurse_monthly_earnings WHERE nurse_id = ?", nurseId);
+        jdbcTemplate.update("DELETE FROM nurse_stats WHERE nurse_id = ?", nurseId);
+        jdbcTemplate.update("DELETE FROM bookings WHERE nurse_id = ?", nurseId);
+        jdbcTemplate.update("DELETE FROM patients WHERE id = ?", patientId);
+        jdbcTemplate.update("DELETE FROM nurse_specializations WHERE nurse_id = ?", nurseId);
+        jdbcTemplate.update("DELETE FROM nurses WHERE id = ?", nurseId);
+    }
+}
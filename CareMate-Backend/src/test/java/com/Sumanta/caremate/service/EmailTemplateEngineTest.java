@@ -0,0 +1,133 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.enums.EmailType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateEngineTest {
+
+    private static final Pattern PARTIAL = Pattern.compile("\\{\\{>\\s*([\\w-]+)\\s*}}");
+
+    private EmailTemplateEngine engine;
+
+    @BeforeEach
+    void compile() {
+        engine = new EmailTemplateEngine();
+        engine.compileTemplates();
+    }
+
+    // ==================== RENDERING ====================
+
+    @ParameterizedTest
+    @EnumSource(EmailType.class)
+    void compiledTemplateRendersLikeSubstitutingTheSource(EmailType type) throws IOException {
+        Map<String, String> params = params();
+
+        String body = engine.renderBody(type, params);
+        String subject = engine.renderSubject(type, params);
+
+        assertThat(body).isEqualTo(substitute(source(type), params, true)).doesNotContain("{{");
+        assertThat(subject).isEqualTo(substitute(type.getSubject(), params, false)).doesNotContain("{{");
+    }
+
+    @Test
+    void bodyValuesAreEscapedAndSubjectValuesAreNot() {
+        Map<String, String> params = params();
+        params.put("nurseName", "<b>O'Neil & \"Co\"</b>");
+
+        assertThat(engine.renderBody(EmailType.BOOKING_ACCEPTED, params))
+                .contains("&lt;b&gt;O&#39;Neil &amp; &quot;Co&quot;&lt;/b&gt;")
+                .doesNotContain("<b>O'Neil");
+        assertThat(engine.renderSubject(EmailType.BOOKING_ACCEPTED, params))
+                .isEqualTo("CareMate - <b>O'Neil & \"Co\"</b> accepted your booking");
+    }
+
+    @Test
+    void missingParameterIsRejected() {
+        Map<String, String> params = params();
+        params.remove("nurseName");
+
+        assertThatThrownBy(() -> engine.renderSubject(EmailType.BOOKING_ACCEPTED, params))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing email parameter: nurseName");
+    }
+
+    // ==================== BUFFER REUSE ====================
+
+    @Test
+    void reusedBufferCarriesNothingBetweenRenders() {
+        Map<String, String> params = params();
+        String expected = engine.renderBody(EmailType.NURSE_REGISTRATION, params);
+
+        // Interleave other templates and an oversized render on the same thread
+        engine.renderBody(EmailType.BOOKING_COMPLETED, params);
+        Map<String, String> oversized = params();
+        oversized.put("name", "x".repeat(128 * 1024));
+        assertThat(engine.renderBody(EmailType.NURSE_REGISTRATION, oversized)).hasSizeGreaterThan(128 * 1024);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(engine.renderBody(EmailType.NURSE_REGISTRATION, params)).isEqualTo(expected);
+        }
+    }
+
+    // ==================== REFERENCE ====================
+
+    private static Map<String, String> params() {
+        Map<String, String> params = new HashMap<>();
+        params.put("name", "Asha Rao");
+        params.put("patientName", "Ravi Kumar");
+        params.put("nurseName", "Asha Rao");
+        params.put("bookingId", "42");
+        params.put("startDate", "2026-01-05");
+        params.put("endDate", "2026-01-09");
+        params.put("totalAmount", "12500.00");
+        params.put("reason", "Schedule conflict");
+        return params;
+    }
+
+    // Straight text substitution over the raw source, the work the engine does once at startup
+    private static String substitute(String source, Map<String, String> params, boolean escapeHtml) throws IOException {
+        Matcher partials = PARTIAL.matcher(source);
+        StringBuilder inlined = new StringBuilder();
+        while (partials.find()) {
+            partials.appendReplacement(inlined, Matcher.quoteReplacement(load("partials/" + partials.group(1) + ".html")));
+        }
+        partials.appendTail(inlined);
+
+        String rendered = inlined.toString();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            String value = escapeHtml ? escape(param.getValue()) : param.getValue();
+            rendered = rendered.replace("{{" + param.getKey() + "}}", value);
+        }
+        return rendered;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&#39;");
+    }
+
+    private static String source(EmailType type) throws IOException {
+        return load(type.getTemplate() + ".html");
+    }
+
+    private static String load(String path) throws IOException {
+        try (InputStream in = new ClassPathResource("templates/email/" + path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.repository.StoredBlobRepository;
+import com.Sumanta.caremate.storage.LocalDiskBlobStore;
+import com.Sumanta.caremate.storage.UploadValidator;
+import com.Sumanta.caremate.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Reference counts are committed by the service's own transactions, so nothing here runs in a test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FileStorageServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    StoredBlobRepository storedBlobRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    @TempDir
+    Path uploadDir;
+
+    private final List<String> storedPaths = new ArrayList<>();
+
+    @AfterEach
+    void deleteCommitted() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        storedPaths.forEach(path -> jdbcTemplate.update("DELETE FROM stored_blobs WHERE path = ?", path));
+    }
+
+    // ==================== REFERENCE COUNTING ====================
+
+    @Test
+    void sameContentIsStoredOnceAndReleasedWithTheLastReference() throws IOException {
+        FileStorageService storage = storage(new LocalDiskBlobStore(uploadDir.toString()));
+        byte[] content = jpeg();
+
+        String first = store(storage, content);
+        String second = store(storage, content);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(refCount(first)).isEqualTo(2);
+        assertThat(Files.readAllBytes(uploadDir.resolve(first))).isEqualTo(content);
+
+        storage.deleteFile(first);
+        assertThat(refCount(first)).isEqualTo(1);
+        assertThat(uploadDir.resolve(first)).exists();
+
+        storage.deleteFile(second);
+        assertThat(storedBlobRepository.findById(first)).isEmpty();
+        assertThat(uploadDir.resolve(first)).doesNotExist();
+        assertThat(tempFiles()).isEmpty();
+    }
+
+    // ==================== RACING RELEASE ====================
+
+    @Test
+    void fileRemovedBeforeTheReferenceCommitsIsPutBack() throws IOException {
+        // Stands in for a release of the previous last reference deleting the file right after our put
+        LocalDiskBlobStore racingStore = new LocalDiskBlobStore(uploadDir.toString()) {
+            private boolean raced;
+
+            @Override
+            public void put(String key, Path source, long size) throws IOException {
+                super.put(key, source, size);
+                if (!raced) {
+                    raced = true;
+                    delete(key);
+                }
+            }
+        };
+        FileStorageService storage = storage(racingStore);
+        byte[] content = jpeg();
+
+        String path = store(storage, content);
+
+        assertThat(refCount(path)).isEqualTo(1);
+        assertThat(Files.readAllBytes(uploadDir.resolve(path))).isEqualTo(content);
+        assertThat(tempFiles()).isEmpty();
+
+        storage.deleteFile(path);
+        assertThat(uploadDir.resolve(path)).doesNotExist();
+    }
+
+    private FileStorageService storage(LocalDiskBlobStore blobStore) {
+        FileStorageService storage = new FileStorageService(blobStore,
+                new UploadValidator(DataSize.ofMegabytes(5), DataSize.ofMegabytes(15)),
+                new SimpleAsyncTaskExecutor(), storedBlobRepository, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(storage, "tempDir", uploadDir.resolve("tmp").toString());
+        ReflectionTestUtils.setField(storage, "contentAddressed", true);
+        return storage;
+    }
+
+    private String store(FileStorageService storage, byte[] content) {
+        String path = storage.storeFile(new MockMultipartFile("file", "photo.jpg", "image/jpeg", content), "nurses/profiles");
+        storedPaths.add(path);
+        return path;
+    }
+
+    private int refCount(String path) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT ref_count FROM stored_blobs WHERE path = ?",
+                Integer.class, path);
+    }
+
+    private List<Path> tempFiles() throws IOException {
+        try (var files = Files.list(uploadDir.resolve("tmp"))) {
+            return files.toList();
+        }
+    }
+
+    // Unique content per test, so the committed rows never collide across runs
+    private static byte[] jpeg() {
+        byte[] body = UUID.randomUUID().toString().getBytes();
+        byte[] content = new byte[3 + body.length];
+        content[0] = (byte) 0xFF;
+        content[1] = (byte) 0xD8;
+        content[2] = (byte) 0xFF;
+        System.arraycopy(body, 0, content, 3, body.length);
+        return content;
+    }
+}
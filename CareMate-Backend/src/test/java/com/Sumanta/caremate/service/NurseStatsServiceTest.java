@@ -0,0 +1,155 @@
+package com.Sumanta.caremate.service;
+
+import com.Sumanta.caremate.entity.BookingEntity;
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.entity.NurseMonthlyEarningsEntity;
+import com.Sumanta.caremate.entity.NurseStatsEntity;
+import com.Sumanta.caremate.entity.PatientEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.repository.BookingRepository;
+import com.Sumanta.caremate.repository.NurseMonthlyEarningsRepository;
+import com.Sumanta.caremate.repository.NurseStatsRepository;
+import com.Sumanta.caremate.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(NurseStatsService.class)
+class NurseStatsServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    NurseStatsService nurseStatsService;
+
+    @Autowired
+    NurseStatsRepository statsRepository;
+
+    @Autowired
+    NurseMonthlyEarningsRepository monthlyEarningsRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    DataSource dataSource;
+
+    // ==================== TRIGGERS ====================
+
+    @Test
+    void nurseGetsAZeroedStatsRowOnInsert() {
+        NurseEntity nurse = data.nurse();
+        data.flushAndClear();
+
+        NurseStatsEntity stats = statsRepository.findById(nurse.getId()).orElseThrow();
+        assertThat(stats.getTotalBookings()).isZero();
+        assertThat(stats.getReviewCount()).isZero();
+        assertThat(stats.getTotalEarnings()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void newBookingsAndReviewsAreCountedOnInsert() {
+        NurseEntity nurse = data.nurse();
+        PatientEntity patient = data.patient();
+
+        data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00"));
+        BookingEntity completed = data.booking(nurse, patient, BookingStatus.COMPLETED, new BigDecimal("3000.00"));
+        data.review(completed, 4);
+        data.flushAndClear();
+
+        NurseStatsEntity stats = statsRepository.findById(nurse.getId()).orElseThrow();
+        assertThat(stats.getPendingCount()).isEqualTo(1);
+        assertThat(stats.getCompletedCount()).isEqualTo(1);
+        assertThat(stats.getTotalEarnings()).isEqualByComparingTo("3000");
+        assertThat(stats.getReviewCount()).isEqualTo(1);
+        assertThat(stats.getRatingSum()).isEqualTo(4);
+        assertThat(stats.getFourStarCount()).isEqualTo(1);
+
+        LocalDateTime completedAt = completed.getCompletedAt();
+        NurseMonthlyEarningsEntity month = monthlyEarningsRepository
+                .findByNurseIdAndYearAndMonth(nurse.getId(), completedAt.getYear(), completedAt.getMonthValue())
+                .orElseThrow();
+        assertThat(month.getEarnings()).isEqualByComparingTo("3000");
+        assertThat(month.getCompletedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void statusChangesMoveTheBookingBetweenCounts() {
+        NurseEntity nurse = data.nurse();
+        PatientEntity patient = data.patient();
+        BookingEntity booking = data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("2500.00"));
+        BookingEntity cancelled = data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("1000.00"));
+        data.flushAndClear();
+
+        LocalDateTime completedAt = LocalDateTime.of(2025, 3, 14, 10, 0);
+        bookingRepository.markAccepted(booking.getId(), nurse.getId(), completedAt.minusDays(2), null);
+        bookingRepository.markCompleted(booking.getId(), nurse.getId(), BookingStatus.ACCEPTED, completedAt);
+        bookingRepository.markStatus(cancelled.getId(), BookingStatus.PENDING, BookingStatus.CANCELLED, completedAt);
+
+        NurseStatsEntity stats = statsRepository.findById(nurse.getId()).orElseThrow();
+        assertThat(stats.getPendingCount()).isZero();
+        assertThat(stats.getAcceptedCount()).isZero();
+        assertThat(stats.getCompletedCount()).isEqualTo(1);
+        assertThat(stats.getCancelledCount()).isEqualTo(1);
+        assertThat(stats.getTotalEarnings()).isEqualByComparingTo("2500");
+
+        NurseMonthlyEarningsEntity month = monthlyEarningsRepository
+                .findByNurseIdAndYearAndMonth(nurse.getId(), 2025, 3)
+                .orElseThrow();
+        assertThat(month.getEarnings()).isEqualByComparingTo("2500");
+        assertThat(month.getCompletedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildFindsNoDriftInTriggerCounts() {
+        NurseEntity nurse = data.nurse();
+        PatientEntity patient = data.patient();
+        for (BookingStatus status : BookingStatus.values()) {
+            data.booking(nurse, patient, status, new BigDecimal("2500.00"));
+        }
+        BookingEntity pending = data.booking(nurse, patient, BookingStatus.PENDING, new BigDecimal("4000.00"));
+        data.review(data.booking(nurse, patient, BookingStatus.COMPLETED, new BigDecimal("3000.00")), 5);
+        data.flushAndClear();
+        bookingRepository.markAccepted(pending.getId(), nurse.getId(), LocalDateTime.now(), null);
+        bookingRepository.markCompleted(pending.getId(), nurse.getId(), BookingStatus.ACCEPTED, LocalDateTime.now());
+
+        NurseStatsEntity counted = statsRepository.findById(nurse.getId()).orElseThrow();
+        Map<BookingStatus, Long> countedByStatus = countsByStatus(counted);
+        BigDecimal countedEarnings = counted.getTotalEarnings();
+        data.flushAndClear();
+
+        NurseStatsEntity rebuilt = nurseStatsService.rebuild(nurse);
+
+        assertThat(countsByStatus(rebuilt)).isEqualTo(countedByStatus);
+        assertThat(rebuilt.getTotalEarnings()).isEqualByComparingTo(countedEarnings).isEqualByComparingTo("9500");
+        assertThat(rebuilt.getReviewCount()).isEqualTo(1);
+    }
+
+    // ==================== READ PATH ====================
+
+    @Test
+    void missingRowIsCountedWithoutWriting() {
+        NurseEntity nurse = data.nurse();
+        data.booking(nurse, data.patient(), BookingStatus.PENDING, new BigDecimal("2500.00"));
+        data.flushAndClear();
+        new JdbcTemplate(dataSource).update("DELETE FROM nurse_stats WHERE nurse_id = ?", nurse.getId());
+
+        assertThat(nurseStatsService.getStats(nurse).getPendingCount()).isEqualTo(1);
+        assertThat(statsRepository.existsById(nurse.getId())).isFalse();
+    }
+
+    private static Map<BookingStatus, Long> countsByStatus(NurseStatsEntity stats) {
+        Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, stats.getCount(status));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,150 @@
+package com.Sumanta.caremate.storage;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * S3BlobStore against a real MinIO server, covering single-part and multipart uploads and the abort
+ * of a failed multipart upload. Skipped when no Docker daemon is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3BlobStoreTest {
+
+    private static final String BUCKET = "caremate-test";
+    private static final long PART_SIZE = DataSize.ofMegabytes(5).toBytes();
+
+    @Container
+    private static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+    // Independent client used to inspect the bucket
+    private static S3Client s3;
+
+    private S3BlobStore store;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void createBucket() {
+        // S3BlobStore takes its credentials from the default provider chain
+        System.setProperty("aws.accessKeyId", MINIO.getUserName());
+        System.setProperty("aws.secretAccessKey", MINIO.getPassword());
+        s3 = S3Client.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create(MINIO.getS3URL()))
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword())))
+                .build();
+        s3.createBucket(b -> b.bucket(BUCKET));
+    }
+
+    @AfterAll
+    static void closeClient() {
+        s3.close();
+        System.clearProperty("aws.accessKeyId");
+        System.clearProperty("aws.secretAccessKey");
+    }
+
+    @BeforeEach
+    void createStore() {
+        store = new S3BlobStore(BUCKET, "us-east-1", MINIO.getS3URL(), true, "uploads/",
+                DataSize.ofBytes(PART_SIZE), 4);
+    }
+
+    @AfterEach
+    void closeStore() {
+        store.destroy();
+    }
+
+    // ==================== SINGLE PART ====================
+
+    @Test
+    void smallFileIsStoredInOneRequest() throws IOException {
+        byte[] content = randomBytes(64 * 1024);
+        Path source = file(content);
+
+        store.put("cas/ab/cd/small.jpg", source, content.length);
+
+        assertThat(source).doesNotExist();
+        assertThat(store.exists("cas/ab/cd/small.jpg")).isTrue();
+        assertThat(read("cas/ab/cd/small.jpg")).isEqualTo(content);
+        // A multipart ETag carries a -<parts> suffix
+        assertThat(s3.headObject(b -> b.bucket(BUCKET).key("uploads/cas/ab/cd/small.jpg")).eTag()).doesNotContain("-");
+
+        store.delete("cas/ab/cd/small.jpg");
+
+        assertThat(store.exists("cas/ab/cd/small.jpg")).isFalse();
+        assertThatThrownBy(() -> store.open("cas/ab/cd/small.jpg")).isInstanceOf(FileNotFoundException.class);
+    }
+
+    // ==================== MULTIPART ====================
+
+    @Test
+    void largeFileIsAssembledFromParallelParts() throws IOException {
+        // Two full parts and a short last one
+        byte[] content = randomBytes((int) (2 * PART_SIZE + 1024));
+        Path source = file(content);
+
+        store.put("cas/ef/01/large.pdf", source, content.length);
+
+        assertThat(source).doesNotExist();
+        assertThat(read("cas/ef/01/large.pdf")).isEqualTo(content);
+        assertThat(s3.headObject(b -> b.bucket(BUCKET).key("uploads/cas/ef/01/large.pdf")).eTag()).endsWith("-3\"");
+    }
+
+    @Test
+    void failedMultipartUploadIsAborted() throws IOException {
+        byte[] content = randomBytes((int) (PART_SIZE + 1024));
+        Path source = file(content);
+
+        // Declaring more bytes than the file holds makes the later parts fail to read
+        assertThatThrownBy(() -> store.put("cas/12/34/broken.pdf", source, content.length + PART_SIZE))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Multipart upload failed for uploads/cas/12/34/broken.pdf");
+
+        assertThat(store.exists("cas/12/34/broken.pdf")).isFalse();
+        assertThat(s3.listMultipartUploads(b -> b.bucket(BUCKET).prefix("uploads/cas/12/34/")).uploads()).isEmpty();
+        // The caller still owns the source and deletes it with its temp file
+        assertThat(source).exists();
+    }
+
+    private byte[] read(String key) throws IOException {
+        try (InputStream in = store.open(key)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private Path file(byte[] content) throws IOException {
+        return Files.write(Files.createTempFile(tempDir, "upload", ".part"), content);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,82 @@
+package com.Sumanta.caremate.storage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadSizeGuardFilterTest {
+
+    private static final int LIMIT = 1024 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UploadSizeGuardFilter filter = new UploadSizeGuardFilter(objectMapper, DataSize.ofBytes(LIMIT));
+
+    @Test
+    void oversizedContentLengthIsRefusedWith413() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(upload(LIMIT + 1), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        assertThat(response.getHeader("Connection")).isEqualTo("close");
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertThat(body.get("success").asBoolean()).isFalse();
+        assertThat(body.get("message").asText()).isEqualTo("Request size exceeds maximum limit of 1MB");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void uploadAtTheLimitPassesThrough() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(upload(LIMIT), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void chunkedUploadIsLeftToThePerFileChecks() throws ServletException, IOException {
+        MockHttpServletRequest request = upload(0);
+        request.setContent(null);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(request.getContentLengthLong()).isEqualTo(-1);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void largeNonMultipartBodyIsNotFiltered() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/patient/bookings");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(new byte[LIMIT + 1]);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    private static MockHttpServletRequest upload(int contentLength) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/nurse/profile/image");
+        request.setContentType(MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=caremate");
+        request.setContent(new byte[contentLength]);
+        return request;
+    }
+}
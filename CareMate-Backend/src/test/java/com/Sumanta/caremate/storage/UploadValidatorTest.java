@@ -0,0 +1,165 @@
+package com.Sumanta.caremate.storage;
+
+import com.Sumanta.caremate.enums.UploadType;
+import com.Sumanta.caremate.exception.UploadRejectedException;
+import com.Sumanta.caremate.storage.UploadValidator.ValidatedUpload;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadValidatorTest {
+
+    private static final int PROFILE_CAP = 1024;
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final UploadValidator validator =
+            new UploadValidator(DataSize.ofBytes(PROFILE_CAP), DataSize.ofMegabytes(15));
+
+    // ==================== CONTENT TYPE ====================
+
+    @Test
+    void typeComesFromTheContentNotTheFileName() throws IOException {
+        byte[] content = content(PNG, 100);
+
+        ValidatedUpload upload = validator.open(file("photo.jpg", content), "nurses/profiles");
+
+        assertThat(upload.type()).isEqualTo(UploadType.PNG);
+        // The sniffed header is pushed back, so the stored bytes are the uploaded bytes
+        assertThat(upload.content().readAllBytes()).isEqualTo(content);
+    }
+
+    @Test
+    void disguisedExtensionIsUnsupported() {
+        byte[] script = "#!/bin/sh\nrm -rf /\n".getBytes(StandardCharsets.US_ASCII);
+
+        assertRejected(() -> validator.open(file("photo.jpg", script), "nurses/profiles"),
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @Test
+    void truncatedHeaderIsUnsupported() {
+        // Two of the three JPEG signature bytes
+        assertRejected(() -> validator.open(file("photo.jpg", new byte[]{(byte) 0xFF, (byte) 0xD8}), "nurses/profiles"),
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @Test
+    void typeAllowedElsewhereIsRefusedForTheSubdirectory() throws IOException {
+        byte[] pdf = content("%PDF-".getBytes(StandardCharsets.US_ASCII), 100);
+
+        assertRejected(() -> validator.open(file("cv.pdf", pdf), "nurses/profiles"), HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        assertThat(validator.open(file("report.pdf", pdf), "patients/reports").type()).isEqualTo(UploadType.PDF);
+    }
+
+    @Test
+    void emptyFileIsABadRequest() {
+        assertRejected(() -> validator.open(file("photo.jpg", new byte[0]), "nurses/profiles"), HttpStatus.BAD_REQUEST);
+    }
+
+    // ==================== SIZE CAP ====================
+
+    @Test
+    void declaredSizeOverTheCapIsRefusedWithoutReading() {
+        CountingInputStream in = new CountingInputStream(content(JPEG, PROFILE_CAP + 1));
+
+        assertRejected(() -> validator.open(streamed(in, PROFILE_CAP + 1), "nurses/profiles"), HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(in.read).isZero();
+    }
+
+    @Test
+    void streamCrossingTheCapIsAbortedMidCopy() throws IOException {
+        // The part under-declares its size, as a chunked upload would
+        CountingInputStream in = new CountingInputStream(content(JPEG, 1024 * 1024));
+        ValidatedUpload upload = validator.open(streamed(in, 1), "nurses/profiles");
+
+        assertRejected(() -> upload.content().transferTo(OutputStream.nullOutputStream()), HttpStatus.PAYLOAD_TOO_LARGE);
+        // Stopped within one copy buffer of the cap rather than reading the whole megabyte
+        assertThat(in.read).isLessThan(PROFILE_CAP + 64 * 1024);
+    }
+
+    @Test
+    void streamExactlyAtTheCapIsAccepted() throws IOException {
+        ValidatedUpload upload = validator.open(streamed(new ByteArrayInputStream(content(JPEG, PROFILE_CAP)), 1),
+                "nurses/profiles");
+
+        assertThat(upload.content().transferTo(OutputStream.nullOutputStream())).isEqualTo(PROFILE_CAP);
+    }
+
+    @Test
+    void largestCapIsTheRequestLimitHint() {
+        assertThat(validator.maxFileSize()).isEqualTo(DataSize.ofMegabytes(15).toBytes());
+    }
+
+    private static void assertRejected(ThrowingCallable call, HttpStatus status) {
+        assertThatThrownBy(call)
+                .isInstanceOfSatisfying(UploadRejectedException.class,
+                        rejected -> assertThat(rejected.getStatus()).isEqualTo(status));
+    }
+
+    private static MockMultipartFile file(String name, byte[] content) {
+        return new MockMultipartFile("file", name, "application/octet-stream", content);
+    }
+
+    // A part whose declared size and stream are independent
+    private static MockMultipartFile streamed(InputStream in, long declaredSize) {
+        return new MockMultipartFile("file", "photo.jpg", "image/jpeg", new byte[]{0}) {
+            @Override
+            public long getSize() {
+                return declaredSize;
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return in;
+            }
+        };
+    }
+
+    private static byte[] content(byte[] signature, int length) {
+        byte[] content = Arrays.copyOf(signature, length);
+        Arrays.fill(content, signature.length, length, (byte) 'x');
+        return content;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long read;
+
+        CountingInputStream(byte[] content) {
+            super(new ByteArrayInputStream(content));
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                read++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                read += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.Sumanta.caremate.support;
+
+import com.Sumanta.caremate.entity.AvailabilityScheduleEntity;
+import com.Sumanta.caremate.entity.BookingEntity;
+import com.Sumanta.caremate.entity.NotificationEntity;
+import com.Sumanta.caremate.entity.NurseEntity;
+import com.Sumanta.caremate.entity.PatientEntity;
+import com.Sumanta.caremate.entity.ReviewEntity;
+import com.Sumanta.caremate.enums.BookingStatus;
+import com.Sumanta.caremate.enums.NotificationType;
+import com.Sumanta.caremate.enums.PatientCategory;
+import com.Sumanta.caremate.enums.UserRole;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persists valid entities with unique contact details. Every booking gets its own date range so
+ * active bookings never trip the per-nurse overlap constraint.
+ */
+public class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final TestEntityManager entityManager;
+
+    public TestData(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public NurseEntity nurse() {
+        int n = SEQUENCE.incrementAndGet();
+        NurseEntity nurse = new NurseEntity();
+        nurse.setFullName("Nurse " + n);
+        nurse.setMobileNo("90000" + n);
+        nurse.setEmail("nurse" + n + "@caremate.test");
+        nurse.setPassword("hash");
+        nurse.setProfileImage1("uploads/nurses/" + n + "-1.jpg");
+        nurse.setProfileImage2("uploads/nurses/" + n + "-2.jpg");
+        nurse.setEducationalQualification("B.Sc Nursing");
+        nurse.setYearsOfExperience(5);
+        nurse.setAge(30);
+        nurse.setSpecializations(Set.of(PatientCategory.FULL_BED_REST, PatientCategory.CRITICAL_PATIENT));
+        return entityManager.persist(nurse);
+    }
+
+    public PatientEntity patient() {
+        int n = SEQUENCE.incrementAndGet();
+        PatientEntity patient = new PatientEntity();
+        patient.setFullName("Patient " + n);
+        patient.setMobileNo("80000" + n);
+        patient.setEmail("patient" + n + "@caremate.test");
+        patient.setPassword("hash");
+        patient.setHospitalReportImage("uploads/patients/" + n + ".pdf");
+        patient.setAge(70);
+        patient.setCategory(PatientCategory.PARTIAL_BED_REST);
+        patient.setFamilyMobileNo("70000" + n);
+        patient.setFamilyEmail("family" + n + "@caremate.test");
+        return entityManager.persist(patient);
+    }
+
+    public BookingEntity booking(NurseEntity nurse, PatientEntity patient, BookingStatus status, BigDecimal amount) {
+        int n = SEQUENCE.incrementAndGet();
+        BookingEntity booking = new BookingEntity();
+        booking.setNurse(nurse);
+        booking.setPatient(patient);
+        booking.setStartDate(LocalDate.of(2024, 1, 1).plusDays(n * 3L));
+        booking.setEndDate(LocalDate.of(2024, 1, 2).plusDays(n * 3L));
+        booking.setTotalAmount(amount);
+        booking.setBaseCharge(amount);
+        booking.setStatus(status);
+        if (status == BookingStatus.COMPLETED) {
+            booking.setCompletedAt(LocalDateTime.now().minusDays(n % 60));
+        }
+        return entityManager.persist(booking);
+    }
+
+    public ReviewEntity review(BookingEntity booking, int rating) {
+        ReviewEntity review = new ReviewEntity();
+        review.setBooking(booking);
+        review.setPatient(booking.getPatient());
+        review.setNurse(booking.getNurse());
+        review.setRating(rating);
+        review.setComment("Rated " + rating);
+        return entityManager.persist(review);
+    }
+
+    public NotificationEntity notification(Long userId, UserRole role, boolean read) {
+        NotificationEntity notification = new NotificationEntity();
+        notification.setUserId(userId);
+        notification.setUserRole(role);
+        notification.setType(NotificationType.GENERAL);
+        notification.setTitle("Title");
+        notification.setMessage("Message");
+        notification.setIsRead(read);
+        return entityManager.persist(notification);
+    }
+
+    public AvailabilityScheduleEntity schedule(NurseEntity nurse, DayOfWeek day) {
+        AvailabilityScheduleEntity schedule = new AvailabilityScheduleEntity();
+        schedule.setNurse(nurse);
+        schedule.setDayOfWeek(day);
+        schedule.setStartTime(LocalTime.of(9, 0));
+        schedule.setEndTime(LocalTime.of(17, 0));
+        return entityManager.persist(schedule);
+    }
+
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}